@@ -0,0 +1,194 @@
+package com.example.qard_hasan_for_education.benchmark;
+
+import com.example.qard_hasan_for_education.model.DisbursementMethod;
+import com.example.qard_hasan_for_education.model.DisbursementStatus;
+import com.example.qard_hasan_for_education.model.DisbursementTransaction;
+import com.example.qard_hasan_for_education.model.HelpType;
+import com.example.qard_hasan_for_education.model.LoanAccount;
+import com.example.qard_hasan_for_education.model.MenteeProfile;
+import com.example.qard_hasan_for_education.model.MentorProfile;
+import com.example.qard_hasan_for_education.model.MentorshipMatch;
+import com.example.qard_hasan_for_education.model.MentorshipMatchStatus;
+import com.example.qard_hasan_for_education.model.StudentApplicationData;
+import com.example.qard_hasan_for_education.model.individual.PassportInfo;
+import com.example.qard_hasan_for_education.model.individual.ScholarshipAcceptance;
+import com.example.qard_hasan_for_education.model.individual.SimpleBankInfo;
+import com.example.qard_hasan_for_education.model.individual.UniversityAcceptance;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic input generators for the benchmarks. Every generator takes a seed so runs are comparable.
+ */
+public final class BenchmarkData {
+
+    private static final String[] UNIVERSITIES = {"Universiti Malaya", "Stanford University", "University of Melbourne",
+            "National University of Singapore", "Unknown College"};
+    private static final String[] COUNTRIES = {"Malaysia", "United States", "Australia", "Singapore", "Indonesia"};
+    private static final String[] PROGRAMS = {"Computer Science", "Medicine", "Business", "Engineering", "Fine Arts"};
+    private static final String[] LEVELS = {"excellent", "good", "fair", "poor"};
+    private static final HelpType[] HELP_TYPES = HelpType.values();
+
+    private BenchmarkData() {
+    }
+
+    public static List<StudentApplicationData> applications(int count, long seed) {
+        Random random = new Random(seed);
+        List<StudentApplicationData> applications = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StudentApplicationData application = new StudentApplicationData("APP-" + i, "STU-" + i);
+
+            SimpleBankInfo bank = new SimpleBankInfo();
+            bank.setAccountHolderName("Student " + i);
+            bank.setCurrentBalance(BigDecimal.valueOf(random.nextInt(20_000)));
+            bank.setIncomeStability(pick(random, "stable", "irregular", "declining"));
+            bank.setExpenseRatio(BigDecimal.valueOf(40 + random.nextInt(60)));
+            bank.setSavingsTrend(pick(random, "increasing", "stable", "decreasing"));
+            bank.setOverdraftCount(random.nextInt(5));
+            bank.setRepaymentCapacity(pick(random, LEVELS));
+            bank.setMonthlyIncome(BigDecimal.valueOf(1_000 + random.nextInt(6_000)));
+            bank.setMonthlyExpenses(BigDecimal.valueOf(800 + random.nextInt(5_000)));
+            bank.setRiskFactors(random.nextBoolean() ? List.of("Irregular income") : List.of());
+            application.setBankInfo(bank);
+
+            UniversityAcceptance university = new UniversityAcceptance();
+            university.setUniversityName(pick(random, UNIVERSITIES));
+            university.setStudentName("Student " + i);
+            university.setProgram(pick(random, PROGRAMS));
+            university.setUniversityTier(pick(random, "top-tier", "mid-tier", "lower-tier"));
+            university.setProgramMarketability(pick(random, "high", "medium", "low"));
+            university.setCompletionProbability(pick(random, "very-high", "high", "medium", "low"));
+            university.setRiskFactors(List.of());
+            application.setUniversityAcceptance(university);
+
+            ScholarshipAcceptance scholarship = new ScholarshipAcceptance();
+            scholarship.setScholarshipName("Merit Scholarship");
+            scholarship.setRecipientName("Student " + i);
+            scholarship.setAmount(BigDecimal.valueOf(random.nextInt(20_000)));
+            scholarship.setProvider("Yayasan Pendidikan");
+            scholarship.setisValidScholarship(random.nextInt(10) > 0);
+            scholarship.setFundingGapRisk(pick(random, "none", "low", "medium", "high"));
+            scholarship.setProviderCredibility(pick(random, "verified", "questionable", "unknown"));
+            scholarship.setDocumentAuthenticity(pick(random, "verified", "verified", "suspicious"));
+            scholarship.setRiskFactors(List.of());
+            application.setScholarshipAcceptance(scholarship);
+
+            application.setPassportInfo(new PassportInfo("Student " + i, "A" + (10_000_000 + i),
+                    pick(random, COUNTRIES), "2003-05-14", "F", "2031-05-13"));
+            applications.add(application);
+        }
+        return applications;
+    }
+
+    public static MentorProfile mentor(long seed) {
+        Random random = new Random(seed);
+        MentorProfile mentor = new MentorProfile();
+        mentor.setMentorId("MENTOR-0");
+        mentor.setStudentId("STU-MENTOR-0");
+        mentor.setAvailableHelpTypes(helpTypes(random, 4));
+        mentor.setUniversity(pick(random, UNIVERSITIES));
+        mentor.setCountry(pick(random, COUNTRIES));
+        mentor.setProgram(pick(random, PROGRAMS));
+        mentor.setMaxMentees(5);
+        mentor.setCurrentMentees(0);
+        mentor.setActive(true);
+        mentor.setJoinedAt(LocalDateTime.now());
+        return mentor;
+    }
+
+    public static List<MenteeProfile> mentees(int count, long seed) {
+        Random random = new Random(seed);
+        LocalDateTime base = LocalDateTime.now().minusDays(30);
+        List<MenteeProfile> mentees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            MenteeProfile mentee = new MenteeProfile();
+            mentee.setMenteeId("MENTEE-" + i);
+            mentee.setStudentId("STU-" + i);
+            mentee.setNeededHelpTypes(helpTypes(random, 1 + random.nextInt(3)));
+            mentee.setNeedsMentor(random.nextInt(4) > 0);
+            mentee.setUrgencyLevel(1 + random.nextInt(5));
+            mentee.setCreatedAt(base.plusMinutes(random.nextInt(43_200)));
+            mentee.setUniversity(pick(random, UNIVERSITIES));
+            mentee.setCountry(pick(random, COUNTRIES));
+            mentee.setProgram(pick(random, PROGRAMS));
+            mentees.add(mentee);
+        }
+        return mentees;
+    }
+
+    /**
+     * Matches between random mentors and the given mentees; roughly one in ten belongs to MENTOR-0.
+     */
+    public static List<MentorshipMatch> matches(List<MenteeProfile> mentees, int count, long seed) {
+        Random random = new Random(seed);
+        MentorshipMatchStatus[] statuses = MentorshipMatchStatus.values();
+        List<MentorshipMatch> matches = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            MentorshipMatch match = new MentorshipMatch();
+            match.setMatchId("MATCH-" + i);
+            match.setMentorId("MENTOR-" + random.nextInt(10));
+            match.setMenteeId(mentees.get(random.nextInt(mentees.size())).getMenteeId());
+            match.setStatus(statuses[random.nextInt(statuses.length)]);
+            match.setMatchedAt(LocalDateTime.now().minusDays(random.nextInt(90)));
+            matches.add(match);
+        }
+        return matches;
+    }
+
+    public static LoanAccount loan(int termMonths, long seed) {
+        Random random = new Random(seed);
+        return new LoanAccount("STU-0", "APP-0", BigDecimal.valueOf(5_000 + random.nextInt(45_000)), termMonths,
+                "Student 0", pick(random, UNIVERSITIES), pick(random, PROGRAMS), pick(random, COUNTRIES), "Malaysian");
+    }
+
+    public static List<LoanAccount> loans(int count, long seed) {
+        Random random = new Random(seed);
+        List<LoanAccount> loans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int term = 12 * (1 + random.nextInt(5));
+            LoanAccount loan = new LoanAccount("STU-" + i, "APP-" + i, BigDecimal.valueOf(5_000 + random.nextInt(45_000)),
+                    term, "Student " + i, pick(random, UNIVERSITIES), pick(random, PROGRAMS), pick(random, COUNTRIES), "Malaysian");
+            int completed = random.nextInt(term);
+            loan.setCompletedInstallments(completed);
+            loan.setRemainingBalance(loan.getPrincipalAmount()
+                    .subtract(loan.getMonthlyInstallment().multiply(BigDecimal.valueOf(completed))));
+            loans.add(loan);
+        }
+        return loans;
+    }
+
+    public static List<DisbursementTransaction> disbursements(int count, long seed) {
+        Random random = new Random(seed);
+        DisbursementMethod[] methods = DisbursementMethod.values();
+        DisbursementStatus[] statuses = DisbursementStatus.values();
+        List<DisbursementTransaction> disbursements = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            DisbursementTransaction disbursement = new DisbursementTransaction("LOAN-" + i, "STU-" + i, "APP-" + i,
+                    BigDecimal.valueOf(5_000 + random.nextInt(45_000)), methods[random.nextInt(methods.length)],
+                    "ACC-" + i, "Maybank");
+            disbursement.setStatus(statuses[random.nextInt(statuses.length)]);
+            disbursements.add(disbursement);
+        }
+        return disbursements;
+    }
+
+    private static List<HelpType> helpTypes(Random random, int count) {
+        List<HelpType> types = new ArrayList<>(count);
+        while (types.size() < count) {
+            HelpType type = HELP_TYPES[random.nextInt(HELP_TYPES.length)];
+            if (!types.contains(type)) {
+                types.add(type);
+            }
+        }
+        return types;
+    }
+
+    @SafeVarargs
+    private static <T> T pick(Random random, T... values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.qard_hasan_for_education.benchmark;
+
+import com.example.qard_hasan_for_education.model.DisbursementTransaction;
+import com.example.qard_hasan_for_education.service.DisbursementService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DisbursementBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int disbursements;
+
+    private DisbursementService service;
+    private List<DisbursementTransaction> all;
+
+    @Setup
+    public void setUp() {
+        service = new DisbursementService();
+        all = BenchmarkData.disbursements(disbursements, 42);
+    }
+
+    @Benchmark
+    public Map<String, Object> calculateDisbursementStatistics() {
+        return service.calculateDisbursementStatistics(all);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.qard_hasan_for_education.benchmark;
+
+import com.example.qard_hasan_for_education.model.MentorProfile;
+import com.example.qard_hasan_for_education.model.MentorshipMatch;
+import com.example.qard_hasan_for_education.model.MentorshipMatchStatus;
+import com.example.qard_hasan_for_education.repository.InMemoryMentorshipRepository;
+import com.example.qard_hasan_for_education.repository.MentorshipRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Match reservations from 64 threads against few (hot) or many mentors, with one lock stripe or 64.
+ * Every reservation that succeeds is completed, which releases its slot, so mentors stay near capacity
+ * and the mix of RESERVED, DUPLICATE and AT_CAPACITY outcomes is steady.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+public class MentorReservationBenchmark {
+
+    private static final int MENTEES_PER_MENTOR = 8;
+    private static final int MAX_MENTEES = 5;
+    private static final LocalDateTime MATCHED_AT = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Param({"1", "64"})
+    private int stripes;
+
+    @Param({"4", "1024"})
+    private int mentors;
+
+    private MentorshipRepository repository;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryMentorshipRepository(stripes);
+        for (int i = 0; i < mentors; i++) {
+            MentorProfile mentor = BenchmarkData.mentor(i);
+            mentor.setMentorId("MENTOR-" + i);
+            mentor.setMaxMentees(MAX_MENTEES);
+            repository.saveMentor(mentor);
+        }
+    }
+
+    @Benchmark
+    public MentorshipRepository.Reservation reserveAndComplete() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int mentor = random.nextInt(mentors);
+        int mentee = random.nextInt(MENTEES_PER_MENTOR);
+
+        // One id per pair keeps the store from growing over the run
+        MentorshipMatch match = new MentorshipMatch();
+        match.setMatchId("MATCH-" + mentor + "-" + mentee);
+        match.setMentorId("MENTOR-" + mentor);
+        match.setMenteeId("MENTEE-" + mentee);
+        match.setStatus(MentorshipMatchStatus.ACTIVE);
+        match.setMatchedAt(MATCHED_AT);
+
+        MentorshipRepository.Reservation reservation = repository.reserveMatch(match, MAX_MENTEES);
+        if (reservation == MentorshipRepository.Reservation.RESERVED) {
+            repository.updateMatch(match.getMatchId(), EnumSet.of(MentorshipMatchStatus.ACTIVE),
+                    MentorshipMatchStatus.COMPLETED, completed -> {});
+        }
+        return reservation;
+    }
+}
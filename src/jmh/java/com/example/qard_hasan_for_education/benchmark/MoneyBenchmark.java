@@ -0,0 +1,101 @@
+package com.example.qard_hasan_for_education.benchmark;
+
+import com.example.qard_hasan_for_education.money.Money;
+import com.example.qard_hasan_for_education.money.MoneyMath;
+import com.example.qard_hasan_for_education.money.Rate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigDecimal against long minor units for the two hot money operations: totalling amounts
+ * and applying a percentage fee. The "converted" variants include the BigDecimal to cents
+ * conversion the services still pay at the model boundary.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final BigDecimal FEE_PERCENT = new BigDecimal("0.01");
+    private static final Rate FEE_RATE = Rate.ofBasisPoints(100);
+
+    @Param({"1000", "100000"})
+    private int amounts;
+
+    private BigDecimal[] decimals;
+    private long[] minors;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        decimals = new BigDecimal[amounts];
+        minors = new long[amounts];
+        for (int i = 0; i < amounts; i++) {
+            long cents = 500_000L + random.nextInt(4_500_000);
+            decimals[i] = BigDecimal.valueOf(cents, 2);
+            minors[i] = cents;
+        }
+    }
+
+    @Benchmark
+    public BigDecimal sumBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : decimals) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long sumMinor() {
+        long total = 0L;
+        for (long amount : minors) {
+            total = MoneyMath.add(total, amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long sumMinorConverted() {
+        long total = 0L;
+        for (BigDecimal amount : decimals) {
+            total = MoneyMath.add(total, Money.toMinor(amount));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal feesBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : decimals) {
+            total = total.add(amount.multiply(FEE_PERCENT).setScale(2, RoundingMode.HALF_UP));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long feesMinor() {
+        long total = 0L;
+        for (long amount : minors) {
+            total = MoneyMath.add(total, MoneyMath.applyRate(amount, FEE_RATE, RoundingMode.HALF_UP));
+        }
+        return total;
+    }
+}
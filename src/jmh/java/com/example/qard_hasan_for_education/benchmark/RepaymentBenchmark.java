@@ -0,0 +1,102 @@
+package com.example.qard_hasan_for_education.benchmark;
+
+import com.example.qard_hasan_for_education.model.Installment;
+import com.example.qard_hasan_for_education.model.LoanAccount;
+import com.example.qard_hasan_for_education.service.RepaymentService;
+import com.example.qard_hasan_for_education.support.PortfolioTotals;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payment schedule by loan term (in full and its first page), dashboard aggregation by portfolio size,
+ * and the parallel portfolio aggregation with every breakdown.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepaymentBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ScheduleState {
+        @Param({"12", "60", "360"})
+        int termMonths;
+
+        RepaymentService service;
+        LoanAccount loan;
+
+        @Setup
+        public void setUp() {
+            service = new RepaymentService();
+            loan = BenchmarkData.loan(termMonths, 42);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class DashboardState {
+        @Param({"100", "1000", "10000"})
+        int loans;
+
+        RepaymentService service;
+        List<LoanAccount> portfolio;
+
+        @Setup
+        public void setUp() {
+            service = new RepaymentService();
+            portfolio = BenchmarkData.loans(loans, 42);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PortfolioState {
+        @Param({"10000", "100000"})
+        int loans;
+
+        RepaymentService service;
+        List<LoanAccount> portfolio;
+        Set<PortfolioTotals.Breakdown> breakdowns;
+
+        @Setup
+        public void setUp() {
+            service = new RepaymentService();
+            portfolio = BenchmarkData.loans(loans, 42);
+            breakdowns = EnumSet.allOf(PortfolioTotals.Breakdown.class);
+        }
+    }
+
+    @Benchmark
+    public List<Installment> calculatePaymentSchedule(ScheduleState state) {
+        return state.service.calculatePaymentSchedule(state.loan);
+    }
+
+    @Benchmark
+    public List<Installment> calculatePaymentSchedulePage(ScheduleState state) {
+        return state.service.calculatePaymentSchedule(state.loan, 0, 3);
+    }
+
+    @Benchmark
+    public Map<String, Object> calculateLoanDashboard(DashboardState state) {
+        return state.service.calculateLoanDashboard(state.portfolio);
+    }
+
+    @Benchmark
+    public Map<String, Object> summarizePortfolio(PortfolioState state) {
+        return state.service.summarizePortfolio(state.portfolio.stream(), state.breakdowns).toMap();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.qard_hasan_for_education.benchmark;
+
+import com.example.qard_hasan_for_education.model.StudentApplicationData;
+import com.example.qard_hasan_for_education.service.RiskAssessmentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scores a batch of synthetic applications per invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RiskAssessmentBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int applications;
+
+    private RiskAssessmentService service;
+    private List<StudentApplicationData> batch;
+
+    @Setup
+    public void setUp() {
+        service = new RiskAssessmentService();
+        batch = BenchmarkData.applications(applications, 42);
+    }
+
+    @Benchmark
+    public void assessRisk(Blackhole blackhole) {
+        for (StudentApplicationData application : batch) {
+            blackhole.consume(service.assessRisk(application));
+        }
+    }
+}
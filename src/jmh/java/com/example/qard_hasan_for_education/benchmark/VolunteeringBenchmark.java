@@ -0,0 +1,61 @@
+package com.example.qard_hasan_for_education.benchmark;
+
+import com.example.qard_hasan_for_education.model.MenteeProfile;
+import com.example.qard_hasan_for_education.model.MentorProfile;
+import com.example.qard_hasan_for_education.model.MentorshipMatch;
+import com.example.qard_hasan_for_education.service.VolunteeringService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mentee matching against a pool of the given size, with half as many existing matches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VolunteeringBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int mentees;
+
+    private VolunteeringService service;
+    private MentorProfile mentor;
+    private List<MenteeProfile> menteePool;
+    private List<MentorshipMatch> existingMatches;
+
+    @Setup
+    public void setUp() {
+        service = new VolunteeringService();
+        mentor = BenchmarkData.mentor(7);
+        menteePool = BenchmarkData.mentees(mentees, 42);
+        existingMatches = BenchmarkData.matches(menteePool, mentees / 2, 43);
+    }
+
+    @Benchmark
+    public List<MenteeProfile> calculatePotentialMentees() {
+        return service.calculatePotentialMentees(mentor, null, menteePool, existingMatches);
+    }
+
+    @Benchmark
+    public void calculateMatchCompatibility(Blackhole blackhole) {
+        for (MenteeProfile mentee : menteePool) {
+            blackhole.consume(service.calculateMatchCompatibility(mentor, mentee));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.qard_hasan_for_education.service;
+
+import com.example.qard_hasan_for_education.model.individual.SimpleBankInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Parsing of a Gemini bank-document response, sized by the number of extracted transactions.
+ * Lives in the service package because the parsing methods are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DocumentParsingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int transactions;
+
+    private DocumentProcessor processor;
+    private String response;
+    private String generatedText;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Same settings as the Spring Boot managed mapper
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        processor = new DocumentProcessor();
+        ReflectionTestUtils.setField(processor, "objectMapper", mapper);
+        processor.initJson();
+
+        Map<String, Object> bankInfo = Map.of(
+                "accountNumber", "1234567890",
+                "bankName", "Maybank",
+                "accountHolderName", "Benchmark Student",
+                "currentBalance", 5200.50,
+                "incomeStability", "stable",
+                "expenseRatio", 65,
+                "repaymentCapacity", "good",
+                "riskFactors", List.of("Irregular income"),
+                "transactions", IntStream.range(0, transactions)
+                        .mapToObj(i -> "2025-01-" + (1 + i % 28) + " Transfer " + i + " 125.00")
+                        .toList());
+        generatedText = "```json\n" + mapper.writerWithDefaultPrettyPrinter().writeValueAsString(bankInfo) + "\n```";
+        response = mapper.writeValueAsString(Map.of(
+                "candidates", List.of(Map.of(
+                        "content", Map.of("parts", List.of(Map.of("text", generatedText)), "role", "model"),
+                        "finishReason", "STOP")),
+                "usageMetadata", Map.of("promptTokenCount", 1290, "totalTokenCount", 1470)));
+    }
+
+    @Benchmark
+    public SimpleBankInfo parseGeminiResponse() throws Exception {
+        return processor.parseGeminiResponse(response, SimpleBankInfo.class);
+    }
+
+    @Benchmark
+    public String cleanJsonResponse() {
+        return processor.cleanJsonResponse(generatedText);
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.qard_hasan_for_education.loadtest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-in for Gemini's generateContent endpoint, for load testing without network access.
+ * Answers bank, university, scholarship and passport prompts with canned extractions, after a
+ * configurable latency, and injects 429 and 5xx responses at configurable rates.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java \
+ *     -Dexec.args="--port=8089 --latency=lognormal:800:0.5 --rate-429=0.02 --rate-5xx=0.01 --padding-bytes=0"
+ * </pre>
+ *
+ * Then start the application with the "loadtest" profile, which points ai.gemini.base-url here.
+ *
+ * Latency distributions: fixed:MS, uniform:MIN:MAX, exponential:MEAN, lognormal:MEDIAN:SIGMA.
+ * padding-bytes adds an ignored field to every response to simulate larger payloads.
+ */
+public class GeminiStubServer {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory JSON_FACTORY = MAPPER.getFactory();
+
+    private static final Map<String, Map<String, Object>> CANNED = Map.of(
+            "bank", Map.ofEntries(
+                    Map.entry("accountNumber", "1234567890"),
+                    Map.entry("bankName", "Maybank"),
+                    Map.entry("accountHolderName", "Load Test Student"),
+                    Map.entry("currentBalance", 5200.50),
+                    Map.entry("purchasingPower", "moderate"),
+                    Map.entry("incomeStability", "stable"),
+                    Map.entry("expenseRatio", 65),
+                    Map.entry("savingsTrend", "increasing"),
+                    Map.entry("overdraftCount", 0),
+                    Map.entry("repaymentCapacity", "good"),
+                    Map.entry("monthlyIncome", 3500),
+                    Map.entry("monthlyExpenses", 2275),
+                    Map.entry("riskFactors", List.of()),
+                    Map.entry("transactions", List.of("Salary credit 3500.00", "Rent 1200.00", "Groceries 310.25"))),
+            "university", Map.of(
+                    "universityName", "Universiti Malaya",
+                    "studentName", "Load Test Student",
+                    "program", "Bachelor of Computer Science",
+                    "acceptanceDate", "2025-03-01",
+                    "semesterStart", "September 2025",
+                    "universityTier", "top-tier",
+                    "programMarketability", "high",
+                    "completionProbability", "high",
+                    "universityRanking", "QS 60",
+                    "riskFactors", List.of()),
+            "scholarship", Map.of(
+                    "scholarshipName", "Merit Scholarship",
+                    "recipientName", "Load Test Student",
+                    "amount", 8000,
+                    "provider", "Yayasan Pendidikan",
+                    "academicYear", "2025/2026",
+                    "isValidScholarship", true,
+                    "fundingGapRisk", "low",
+                    "providerCredibility", "verified",
+                    "documentAuthenticity", "verified",
+                    "riskFactors", List.of()),
+            "passport", Map.of(
+                    "fullName", "Load Test Student",
+                    "identification", "A12345678",
+                    "nationality", "Malaysian",
+                    "dateOfBirth", "2003-05-14",
+                    "gender", "F",
+                    "expiryDate", "2031-05-13"));
+
+    private final Latency latency;
+    private final double rate429;
+    private final double rate5xx;
+    private final String padding;
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    GeminiStubServer(Latency latency, double rate429, double rate5xx, int paddingBytes) {
+        this.latency = latency;
+        this.rate429 = rate429;
+        this.rate5xx = rate5xx;
+        this.padding = paddingBytes > 0 ? "x".repeat(paddingBytes) : null;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        int port = Integer.parseInt(options.getOrDefault("port", "8089"));
+
+        GeminiStubServer stub = new GeminiStubServer(
+                Latency.parse(options.getOrDefault("latency", "lognormal:800:0.5")),
+                Double.parseDouble(options.getOrDefault("rate-429", "0")),
+                Double.parseDouble(options.getOrDefault("rate-5xx", "0")),
+                Integer.parseInt(options.getOrDefault("padding-bytes", "0")));
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.createContext("/", stub::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+
+        System.out.printf("Gemini stub listening on http://localhost:%d/v1beta/models/gemini-1.5-flash:generateContent%n", port);
+        System.out.printf("latency=%s rate-429=%s rate-5xx=%s padding-bytes=%s%n",
+                options.getOrDefault("latency", "lognormal:800:0.5"), stub.rate429, stub.rate5xx,
+                options.getOrDefault("padding-bytes", "0"));
+
+        while (true) {
+            Thread.sleep(10_000);
+            System.out.println("stub requests: " + stub.snapshot());
+        }
+    }
+
+    void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod()) || !exchange.getRequestURI().getPath().endsWith(":generateContent")) {
+                count("not-found");
+                send(exchange, 404, error(404, "Not found", "NOT_FOUND"));
+                return;
+            }
+
+            String documentType = detectDocumentType(exchange.getRequestBody());
+            sleep(latency.sampleMs());
+
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < rate429) {
+                count("429");
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                send(exchange, 429, error(429, "Resource has been exhausted (e.g. check quota).", "RESOURCE_EXHAUSTED"));
+            } else if (roll < rate429 + rate5xx) {
+                count("503");
+                send(exchange, 503, error(503, "The model is overloaded. Please try again later.", "UNAVAILABLE"));
+            } else if (documentType == null) {
+                count("400");
+                send(exchange, 400, error(400, "Unrecognised prompt", "INVALID_ARGUMENT"));
+            } else {
+                count(documentType);
+                send(exchange, 200, success(documentType));
+            }
+        }
+    }
+
+    /**
+     * Reads only the prompt text; the base64 document is skipped without being buffered.
+     */
+    private static String detectDocumentType(InputStream body) throws IOException {
+        String prompt = null;
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME && "text".equals(parser.currentName())) {
+                    parser.nextToken();
+                    prompt = parser.getText();
+                }
+            }
+        }
+        if (prompt == null) {
+            return null;
+        }
+        String lower = prompt.toLowerCase();
+        if (lower.contains("bank document")) {
+            return "bank";
+        } else if (lower.contains("university acceptance")) {
+            return "university";
+        } else if (lower.contains("scholarship acceptance")) {
+            return "scholarship";
+        } else if (lower.contains("passport")) {
+            return "passport";
+        }
+        return null;
+    }
+
+    private byte[] success(String documentType) throws IOException {
+        // Real responses wrap the JSON in a markdown fence, which DocumentProcessor strips
+        String text = "```json\n" + MAPPER.writeValueAsString(CANNED.get(documentType)) + "\n```";
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("candidates", List.of(Map.of(
+                "content", Map.of("parts", List.of(Map.of("text", text)), "role", "model"),
+                "finishReason", "STOP",
+                "index", 0)));
+        response.put("usageMetadata", Map.of("promptTokenCount", 1290, "candidatesTokenCount", 180, "totalTokenCount", 1470));
+        response.put("modelVersion", "gemini-1.5-flash-stub");
+        if (padding != null) {
+            response.put("padding", padding);
+        }
+        return MAPPER.writeValueAsBytes(response);
+    }
+
+    private static byte[] error(int code, String message, String status) throws IOException {
+        return MAPPER.writeValueAsBytes(Map.of("error", Map.of("code", code, "message", message, "status", status)));
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void count(String outcome) {
+        counters.computeIfAbsent(outcome, k -> new LongAdder()).increment();
+    }
+
+    private Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((k, v) -> snapshot.put(k, v.sum()));
+        return snapshot;
+    }
+
+    private static void sleep(long ms) {
+        if (ms <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            } else {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Response delay in milliseconds, drawn from one of a few simple distributions.
+     */
+    @FunctionalInterface
+    interface Latency {
+        long sampleMs();
+
+        static Latency parse(String spec) {
+            String[] p = spec.split(":");
+            switch (p[0]) {
+                case "fixed": {
+                    long ms = Long.parseLong(p[1]);
+                    return () -> ms;
+                }
+                case "uniform": {
+                    long min = Long.parseLong(p[1]);
+                    long max = Long.parseLong(p[2]);
+                    return () -> ThreadLocalRandom.current().nextLong(min, max + 1);
+                }
+                case "exponential": {
+                    double mean = Double.parseDouble(p[1]);
+                    return () -> (long) (-mean * Math.log(1 - ThreadLocalRandom.current().nextDouble()));
+                }
+                case "lognormal": {
+                    // Median and shape; a long right tail like real model latency
+                    double median = Double.parseDouble(p[1]);
+                    double sigma = Double.parseDouble(p[2]);
+                    return () -> (long) (median * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+                }
+                default:
+                    throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+            }
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package com.example.qard_hasan_for_education.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-model load generator for the REST API. Each virtual user picks a scenario from a weighted
+ * mix, sends it, records the latency and loops until the run ends. At the end it prints throughput,
+ * p50/p99/p999 latency and error rate per scenario.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dloadtest.main=com.example.qard_hasan_for_education.loadtest.LoadGenerator \
+ *     -Dexec.args="--base-url=http://localhost:8080 --users=100 --duration=60 --warmup=10"
+ * </pre>
+ *
+ * Run the application with the "loadtest" profile against GeminiStubServer so submissions never leave the machine.
+ *
+ * Options: --users, --duration and --warmup (seconds), --seed, --pdf-kb (size of synthetic PDFs),
+ * --mix=name:weight,... to override the default weights, --report=path to also write the results as JSON.
+ */
+public class LoadGenerator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Map<String, Integer> DEFAULT_MIX = new LinkedHashMap<>();
+
+    static {
+        DEFAULT_MIX.put("submit-complete", 2);
+        DEFAULT_MIX.put("repayment-create-loan", 10);
+        DEFAULT_MIX.put("repayment-schedule", 15);
+        DEFAULT_MIX.put("repayment-dashboard", 10);
+        DEFAULT_MIX.put("repayment-pay-async", 10);
+        DEFAULT_MIX.put("disbursement-statistics", 10);
+        DEFAULT_MIX.put("disbursement-validate-method", 8);
+        DEFAULT_MIX.put("mentorship-create-mentee", 10);
+        DEFAULT_MIX.put("mentorship-statistics", 10);
+        DEFAULT_MIX.put("notification-payment-reminder", 15);
+        DEFAULT_MIX.put("notification-mentor-welcome", 10);
+    }
+
+    private static final String[] UNIVERSITIES = {"Universiti Malaya", "Stanford University", "University of Melbourne"};
+    private static final String[] HELP_TYPES = {"ACADEMIC_GUIDANCE", "CULTURAL_ADAPTATION", "CAREER_GUIDANCE",
+            "FINANCIAL_MANAGEMENT", "LANGUAGE_SUPPORT"};
+
+    private final String baseUrl;
+    private final HttpClient client;
+    private final byte[] pdf;
+    private final byte[] png;
+    private final Map<String, Scenario> scenarios = new LinkedHashMap<>();
+    private final String[] wheel;
+
+    LoadGenerator(String baseUrl, Map<String, Integer> mix, int pdfKb, long seed) throws IOException {
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.pdf = syntheticPdf(pdfKb * 1024, new Random(seed));
+        this.png = syntheticPng(new Random(seed + 1));
+
+        register("submit-complete", this::submitComplete);
+        register("repayment-create-loan", r -> post("/api/repayment/create-loan", Map.of(
+                "studentId", "STU-" + r.nextInt(100_000),
+                "studentName", "Load Test Student",
+                "universityName", pick(r, UNIVERSITIES),
+                "program", "Computer Science",
+                "loanAmount", 5_000 + r.nextInt(45_000),
+                "termMonths", 12 * (1 + r.nextInt(5)))));
+        register("repayment-schedule", r -> post("/api/repayment/calculate-payment-schedule",
+                Map.of("loanAccount", loan(r))));
+        // Next few rows only, as the loan screens show them; and the full schedule streamed
+        register("repayment-schedule-page", r -> post("/api/repayment/calculate-payment-schedule",
+                Map.of("loanAccount", loan(r), "offset", 0, "limit", 3)));
+        register("repayment-schedule-stream", r -> post("/api/repayment/calculate-payment-schedule/stream",
+                Map.of("loanAccount", loan(r))));
+        register("repayment-dashboard", r -> {
+            List<Object> loans = new ArrayList<>();
+            for (int i = 0, n = 1 + r.nextInt(20); i < n; i++) {
+                loans.add(loan(r));
+            }
+            return post("/api/repayment/calculate-dashboard", Map.of("loans", loans));
+        });
+        // Aggregates whatever repayment-create-loan has stored; not in the default mix
+        register("repayment-portfolio-dashboard", r -> HttpRequest.newBuilder(URI.create(baseUrl
+                        + "/api/repayment/portfolio-dashboard?breakdown=UNIVERSITY_COUNTRY,LOAN_STATUS"))
+                .GET().build());
+        // repayment-pay (blocking) is not in the default mix; compare the two with --mix
+        register("repayment-pay", r -> post("/api/repayment/calculate-payment", payment(r)));
+        register("repayment-pay-async", r -> post("/api/repayment/calculate-payment-async", payment(r)));
+        register("disbursement-statistics", r -> {
+            List<Object> disbursements = new ArrayList<>();
+            for (int i = 0, n = 1 + r.nextInt(50); i < n; i++) {
+                disbursements.add(Map.of(
+                        "disbursementId", "DIS-" + i,
+                        "loanId", "LOAN-" + i,
+                        "studentId", "STU-" + i,
+                        "amount", 5_000 + r.nextInt(45_000),
+                        "disbursementMethod", "BANK_TRANSFER",
+                        "status", r.nextInt(4) == 0 ? "FAILED" : "COMPLETED"));
+            }
+            return post("/api/disbursements/calculate-statistics", Map.of("allDisbursements", disbursements));
+        });
+        register("disbursement-validate-method", r -> post("/api/disbursements/validate-method", Map.of(
+                "method", r.nextBoolean() ? "BANK_TRANSFER" : "WIRE_TRANSFER",
+                "bankName", "Maybank",
+                "country", "Malaysia")));
+        register("mentorship-create-mentee", r -> post("/api/mentorship/create-mentee-profile", Map.of(
+                "studentId", "STU-" + r.nextInt(100_000),
+                "name", "Load Test Mentee",
+                "university", pick(r, UNIVERSITIES),
+                "program", "Engineering",
+                "currentYear", 1 + r.nextInt(4),
+                "currentCountry", "Malaysia",
+                "needsHelpWith", List.of(pick(r, HELP_TYPES), pick(r, HELP_TYPES)),
+                "urgencyLevel", String.valueOf(1 + r.nextInt(5)),
+                "description", "Synthetic mentee from the load generator")));
+        register("mentorship-statistics", r -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/mentorship/statistics"))
+                .GET().build());
+        register("notification-payment-reminder", r -> post("/api/notifications/generate-payment-reminder", Map.of(
+                "studentId", "STU-" + r.nextInt(100_000),
+                "loanId", "LOAN-" + r.nextInt(100_000),
+                "amount", String.valueOf(100 + r.nextInt(900)),
+                "dueDate", LocalDate.now().plusDays(r.nextInt(30)).toString())));
+        register("notification-mentor-welcome", r -> post("/api/notifications/generate-mentor-welcome", Map.of(
+                "mentorId", "MENTOR-" + r.nextInt(10_000),
+                "mentorName", "Load Test Mentor")));
+
+        List<String> entries = new ArrayList<>();
+        mix.forEach((name, weight) -> {
+            if (!scenarios.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown scenario: " + name + ", expected one of " + scenarios.keySet());
+            }
+            for (int i = 0; i < weight; i++) {
+                entries.add(name);
+            }
+        });
+        this.wheel = entries.toArray(new String[0]);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = GeminiStubServer.parseArgs(args);
+        int users = Integer.parseInt(options.getOrDefault("users", "50"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+        Map<String, Integer> mix = DEFAULT_MIX;
+        if (options.containsKey("mix")) {
+            mix = new LinkedHashMap<>();
+            for (String entry : options.get("mix").split(",")) {
+                String[] parts = entry.split(":");
+                mix.put(parts[0], Integer.parseInt(parts[1]));
+            }
+        }
+
+        LoadGenerator generator = new LoadGenerator(options.getOrDefault("base-url", "http://localhost:8080"),
+                mix, Integer.parseInt(options.getOrDefault("pdf-kb", "200")), seed);
+
+        System.out.printf("Warming up %d users for %d s...%n", users, warmupSeconds);
+        generator.run(users, Duration.ofSeconds(warmupSeconds), seed);
+
+        System.out.printf("Measuring %d users for %d s...%n", users, durationSeconds);
+        Map<String, Stats> results = generator.run(users, Duration.ofSeconds(durationSeconds), seed + 1);
+
+        report(results, durationSeconds);
+        if (options.containsKey("report")) {
+            writeJson(results, durationSeconds, Path.of(options.get("report")));
+        }
+    }
+
+    Map<String, Stats> run(int users, Duration duration, long seed) throws InterruptedException {
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        scenarios.keySet().forEach(name -> stats.put(name, new Stats()));
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        SplittableRandom seeds = new SplittableRandom(seed);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < users; u++) {
+                Random random = new Random(seeds.nextLong());
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        String name = wheel[random.nextInt(wheel.length)];
+                        execute(name, random, stats.get(name));
+                    }
+                });
+            }
+        }
+        return stats;
+    }
+
+    private void execute(String name, Random random, Stats stats) {
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            HttpRequest request = scenarios.get(name).build(random);
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            ok = response.statusCode() < 400;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            ok = false;
+        }
+        stats.record(System.nanoTime() - start, ok);
+    }
+
+    private HttpRequest submitComplete(Random random) {
+        String boundary = "----loadtest" + Long.toHexString(random.nextLong());
+        ByteArrayOutputStream body = new ByteArrayOutputStream(pdf.length * 3 + png.length + 1024);
+        writeField(body, boundary, "studentId", "STU-" + random.nextInt(100_000));
+        writeFile(body, boundary, "bankStatement", "bank.pdf", "application/pdf", pdf);
+        writeFile(body, boundary, "universityLetter", "offer.pdf", "application/pdf", pdf);
+        writeFile(body, boundary, "scholarshipLetter", "scholarship.pdf", "application/pdf", pdf);
+        writeFile(body, boundary, "passportImage", "passport.png", "image/png", png);
+        body.writeBytes(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/applications/submit-complete"))
+                .timeout(Duration.ofMinutes(5))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private HttpRequest post(String path, Object payload) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(payload)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void register(String name, Scenario scenario) {
+        scenarios.put(name, scenario);
+    }
+
+    private static Map<String, Object> loan(Random random) {
+        int term = 12 * (1 + random.nextInt(5));
+        int principal = 5_000 + random.nextInt(45_000);
+        int installment = principal / term;
+        int completed = random.nextInt(term);
+        Map<String, Object> loan = new LinkedHashMap<>();
+        loan.put("loanId", "LOAN-" + random.nextInt(100_000));
+        loan.put("studentId", "STU-" + random.nextInt(100_000));
+        loan.put("principalAmount", principal);
+        loan.put("remainingBalance", principal - installment * completed);
+        loan.put("monthlyInstallment", installment);
+        loan.put("totalInstallments", term);
+        loan.put("completedInstallments", completed);
+        loan.put("nextPaymentDate", LocalDate.now().plusMonths(1).toString());
+        loan.put("loanStatus", "ACTIVE");
+        return loan;
+    }
+
+    private static Map<String, Object> payment(Random random) {
+        Map<String, Object> loan = loan(random);
+        // The last installment is whatever balance is left, not the rounded monthly amount
+        boolean last = (int) loan.get("completedInstallments") == (int) loan.get("totalInstallments") - 1;
+        return Map.of(
+                "loanId", loan.get("loanId"),
+                "amount", loan.get(last ? "remainingBalance" : "monthlyInstallment"),
+                "paymentMethod", "BANK_TRANSFER",
+                "loanAccount", loan);
+    }
+
+    private static void writeField(ByteArrayOutputStream body, String boundary, String name, String value) {
+        body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeFile(ByteArrayOutputStream body, String boundary, String name, String filename,
+                                  String contentType, byte[] content) {
+        body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"; filename=\""
+                + filename + "\"\r\nContent-Type: " + contentType + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A single-page PDF whose content stream is padded with random text operators up to the target size.
+     */
+    static byte[] syntheticPdf(int targetBytes, Random random) {
+        StringBuilder content = new StringBuilder("BT /F1 12 Tf 72 720 Td (Synthetic bank statement) Tj ET\n");
+        while (content.length() < targetBytes) {
+            content.append("BT /F1 9 Tf 72 ").append(random.nextInt(700)).append(" Td (Transfer ")
+                    .append(random.nextInt(1_000_000)).append(" RM ").append(random.nextInt(10_000)).append(".00) Tj ET\n");
+        }
+        String stream = content.toString();
+
+        List<String> objects = List.of(
+                "<< /Type /Catalog /Pages 2 0 R >>",
+                "<< /Type /Pages /Kids [3 0 R] /Count 1 >>",
+                "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] /Contents 4 0 R /Resources << /Font << /F1 5 0 R >> >> >>",
+                "<< /Length " + stream.length() + " >>\nstream\n" + stream + "endstream",
+                "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica >>");
+
+        StringBuilder pdf = new StringBuilder("%PDF-1.4\n");
+        List<Integer> offsets = new ArrayList<>();
+        for (int i = 0; i < objects.size(); i++) {
+            offsets.add(pdf.length());
+            pdf.append(i + 1).append(" 0 obj\n").append(objects.get(i)).append("\nendobj\n");
+        }
+        int xref = pdf.length();
+        pdf.append("xref\n0 ").append(objects.size() + 1).append("\n0000000000 65535 f \n");
+        for (int offset : offsets) {
+            pdf.append(String.format("%010d 00000 n \n", offset));
+        }
+        pdf.append("trailer\n<< /Size ").append(objects.size() + 1).append(" /Root 1 0 R >>\nstartxref\n")
+                .append(xref).append("\n%%EOF\n");
+        return pdf.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    static byte[] syntheticPng(Random random) throws IOException {
+        BufferedImage image = new BufferedImage(600, 400, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, random.nextInt(0xFFFFFF));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static void report(Map<String, Stats> results, int durationSeconds) {
+        System.out.printf("%n%-32s %10s %10s %10s %10s %10s %10s%n",
+                "scenario", "requests", "req/s", "errors %", "p50 ms", "p99 ms", "p999 ms");
+        results.forEach((name, s) -> {
+            long count = s.count.sum();
+            if (count == 0) {
+                return;
+            }
+            System.out.printf("%-32s %10d %10.1f %10.2f %10.1f %10.1f %10.1f%n",
+                    name, count, (double) count / durationSeconds, 100.0 * s.errors.sum() / count,
+                    s.latency.percentileMs(0.50), s.latency.percentileMs(0.99), s.latency.percentileMs(0.999));
+        });
+    }
+
+    private static void writeJson(Map<String, Stats> results, int durationSeconds, Path path) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        results.forEach((name, s) -> {
+            long count = s.count.sum();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("requests", count);
+            entry.put("throughputPerSecond", (double) count / durationSeconds);
+            entry.put("errorRate", count == 0 ? 0.0 : (double) s.errors.sum() / count);
+            entry.put("p50Ms", s.latency.percentileMs(0.50));
+            entry.put("p99Ms", s.latency.percentileMs(0.99));
+            entry.put("p999Ms", s.latency.percentileMs(0.999));
+            report.put(name, entry);
+        });
+        Files.write(path, MAPPER.enable(SerializationFeature.INDENT_OUTPUT).writeValueAsBytes(report));
+        System.out.println("Report written to " + path.toAbsolutePath());
+    }
+
+    @SafeVarargs
+    private static <T> T pick(Random random, T... values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    @FunctionalInterface
+    interface Scenario {
+        HttpRequest build(Random random);
+    }
+
+    static final class Stats {
+        final LongAdder count = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LatencyHistogram latency = new LatencyHistogram();
+
+        void record(long nanos, boolean ok) {
+            count.increment();
+            if (!ok) {
+                errors.increment();
+            }
+            latency.record(nanos / 1_000);
+        }
+    }
+
+    /**
+     * Lock-free log-linear histogram of microsecond latencies: each power-of-two range is split into
+     * 32 linear sub-buckets, which keeps the error of any percentile below ~3%.
+     */
+    static final class LatencyHistogram {
+        private static final int SUB_BUCKET_BITS = 5;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int RANGES = 40;
+
+        private final AtomicLongArray counts = new AtomicLongArray(RANGES * SUB_BUCKETS);
+        private final LongAdder total = new LongAdder();
+
+        void record(long micros) {
+            counts.incrementAndGet(index(Math.max(micros, 0)));
+            total.increment();
+        }
+
+        double percentileMs(double percentile) {
+            long n = total.sum();
+            if (n == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile * n);
+            long seen = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                seen += counts.get(i);
+                if (seen >= rank) {
+                    return upperBound(i) / 1000.0;
+                }
+            }
+            return upperBound(counts.length() - 1) / 1000.0;
+        }
+
+        private static int index(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int range = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS + 1;
+            int sub = (int) (value >>> (range - 1)) - SUB_BUCKETS;
+            return Math.min(range * SUB_BUCKETS + sub, RANGES * SUB_BUCKETS - 1);
+        }
+
+        private static long upperBound(int index) {
+            int range = index / SUB_BUCKETS;
+            int sub = index % SUB_BUCKETS;
+            if (range == 0) {
+                return sub;
+            }
+            return ((long) (SUB_BUCKETS + sub + 1) << (range - 1)) - 1;
+        }
+    }
+}
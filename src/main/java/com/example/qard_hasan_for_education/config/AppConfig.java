@@ -1,8 +1,11 @@
 package com.example.qard_hasan_for_education.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
@@ -27,6 +30,24 @@ public class AppConfig {
     @Value("${rest.template.read-timeout:30000}")
     private int readTimeout;
 
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * Executor behind @Async and Spring MVC async request processing.
+     * Declared explicitly because our own ExecutorService beans make Spring Boot skip its default one.
+     * In virtual thread mode every task gets its own virtual thread; otherwise a regular pool is used.
+     */
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder threadPoolTaskExecutorBuilder,
+                                                     SimpleAsyncTaskExecutorBuilder simpleAsyncTaskExecutorBuilder) {
+        if (virtualThreads) {
+            // Boot's builder already has virtualThreads(true) applied when the property is set
+            return simpleAsyncTaskExecutorBuilder.threadNamePrefix("async-").build();
+        }
+        return threadPoolTaskExecutorBuilder.threadNamePrefix("async-").build();
+    }
+
     @Bean
     public RestTemplate restTemplate() {
         // Configure HTTP client with timeouts
@@ -0,0 +1,122 @@
+package com.example.qard_hasan_for_education.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class ExecutorConfig {
+
+    // Carries the current observation (and so the trace) from the submitting thread into the task
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+    @Value("${document.processing.intake.workers:8}")
+    private int intakeWorkers;
+
+    @Value("${document.processing.intake.queue-capacity:100}")
+    private int intakeQueueCapacity;
+
+    @Value("${document.processing.intake.virtual-threads:${spring.threads.virtual.enabled:false}}")
+    private boolean intakeVirtualThreads;
+
+    @Value("${document.processing.executor.virtual-threads:true}")
+    private boolean documentVirtualThreads;
+
+    @Value("${document.processing.executor.max-concurrency:64}")
+    private int documentMaxConcurrency;
+
+    @Value("${document.processing.executor.queue-capacity:256}")
+    private int documentQueueCapacity;
+
+    @Value("${document.processing.executor.rejection-policy:caller-runs}")
+    private String documentRejectionPolicy;
+
+    /**
+     * Runs queued application submissions in the background. The queue is bounded; once it is full
+     * new submissions are rejected so the caller can answer 503 instead of piling up work.
+     * Follows spring.threads.virtual.enabled unless document.processing.intake.virtual-threads is set.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService applicationIntakeExecutor(MeterRegistry meterRegistry) {
+        ThreadFactory threadFactory = intakeVirtualThreads
+                ? Thread.ofVirtual().name("application-intake-", 1).factory()
+                : namedThreadFactory("application-intake-");
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                intakeWorkers, intakeWorkers,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(intakeQueueCapacity),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+        return propagateContext(ExecutorServiceMetrics.monitor(meterRegistry, executor, "applicationIntake"));
+    }
+
+    /**
+     * Runs the per-document Gemini calls of an application. The work is blocking HTTP I/O, so by default
+     * each task gets a virtual thread; max-concurrency still caps how many run at once and the bounded
+     * queue plus rejection policy provide back pressure instead of unbounded growth.
+     * Queue depth and active task gauges are published as executor.* metrics with name=documentProcessing.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService documentProcessingExecutor(MeterRegistry meterRegistry) {
+        ThreadFactory threadFactory = documentVirtualThreads
+                ? Thread.ofVirtual().name("document-processing-", 1).factory()
+                : namedThreadFactory("document-processing-");
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                documentMaxConcurrency, documentMaxConcurrency,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(documentQueueCapacity),
+                threadFactory,
+                rejectionHandler(documentRejectionPolicy));
+        executor.allowCoreThreadTimeOut(true);
+        return propagateContext(ExecutorServiceMetrics.monitor(meterRegistry, executor, "documentProcessing"));
+    }
+
+    /**
+     * Runs hedged Gemini attempts. Tasks only wait on HTTP I/O and are already bounded by the
+     * Gemini rate limiter, so a virtual thread per task is enough.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService geminiHedgeExecutor() {
+        return propagateContext(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("gemini-hedge-", 1).factory()));
+    }
+
+    private static ExecutorService propagateContext(ExecutorService executor) {
+        return ContextExecutorService.wrap(executor, CONTEXT_SNAPSHOTS::captureAll);
+    }
+
+    private static RejectedExecutionHandler rejectionHandler(String policy) {
+        switch (policy.toLowerCase()) {
+            case "abort":
+                return new ThreadPoolExecutor.AbortPolicy();
+            case "caller-runs":
+                // Slows the submitting thread down instead of failing the application
+                return new ThreadPoolExecutor.CallerRunsPolicy();
+            default:
+                throw new IllegalArgumentException("Unknown rejection policy: " + policy);
+        }
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.qard_hasan_for_education.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Long-lived, pooled HTTP client shared by every Gemini call.
+ * Connections are kept alive between documents so we only pay the TLS handshake once per pooled connection.
+ */
+@Configuration
+public class GeminiClientConfig {
+
+    @Value("${ai.gemini.timeout:30000}")
+    private int timeout;
+
+    @Value("${ai.gemini.pool.max-total:50}")
+    private int maxTotal;
+
+    @Value("${ai.gemini.pool.max-per-route:50}")
+    private int maxPerRoute;
+
+    @Value("${ai.gemini.pool.connect-timeout:10000}")
+    private int connectTimeout;
+
+    @Value("${ai.gemini.pool.keep-alive:30000}")
+    private long keepAliveMs;
+
+    @Value("${ai.gemini.pool.time-to-live:300000}")
+    private long timeToLiveMs;
+
+    @Value("${ai.gemini.pool.idle-eviction:60000}")
+    private long idleEvictionMs;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager geminiConnectionManager() {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
+                .setSocketTimeout(Timeout.ofMilliseconds(timeout))
+                .setTimeToLive(TimeValue.ofMilliseconds(timeToLiveMs))
+                // Re-check connections that sat idle for a while before handing them out again
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build();
+
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient geminiHttpClient(PoolingHttpClientConnectionManager geminiConnectionManager) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(timeout))
+                .setResponseTimeout(Timeout.ofMilliseconds(timeout))
+                // Used when Gemini does not send a Keep-Alive header of its own
+                .setConnectionKeepAlive(TimeValue.ofMilliseconds(keepAliveMs))
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(geminiConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictionMs))
+                .build();
+    }
+
+    @Bean
+    public MeterBinder geminiConnectionPoolMetrics(PoolingHttpClientConnectionManager geminiConnectionManager) {
+        return registry -> {
+            Gauge.builder("gemini.http.pool.leased", geminiConnectionManager, cm -> cm.getTotalStats().getLeased())
+                    .description("Gemini connections currently in use")
+                    .register(registry);
+            Gauge.builder("gemini.http.pool.available", geminiConnectionManager, cm -> cm.getTotalStats().getAvailable())
+                    .description("Idle Gemini connections kept alive in the pool")
+                    .register(registry);
+            Gauge.builder("gemini.http.pool.pending", geminiConnectionManager, cm -> cm.getTotalStats().getPending())
+                    .description("Requests waiting for a Gemini connection")
+                    .register(registry);
+            Gauge.builder("gemini.http.pool.max", geminiConnectionManager, cm -> cm.getTotalStats().getMax())
+                    .description("Maximum Gemini connections allowed")
+                    .register(registry);
+        };
+    }
+}
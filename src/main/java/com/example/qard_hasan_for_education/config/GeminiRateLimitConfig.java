@@ -0,0 +1,51 @@
+package com.example.qard_hasan_for_education.config;
+
+import com.example.qard_hasan_for_education.service.GeminiRateLimiter;
+import com.example.qard_hasan_for_education.service.LocalGeminiRateLimiter;
+import com.example.qard_hasan_for_education.service.RedisGeminiRateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Chooses the Gemini rate limiter: "local" keeps the quota per instance,
+ * "redis" shares it between every node pointing at the same Redis.
+ */
+@Configuration
+public class GeminiRateLimitConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeminiRateLimitConfig.class);
+
+    @Value("${ai.gemini.rate-limit.backend:local}")
+    private String backend;
+
+    @Value("${ai.gemini.rate-limit.requests-per-minute:60}")
+    private int requestsPerMinute;
+
+    @Value("${ai.gemini.rate-limit.tokens-per-minute:1000000}")
+    private int tokensPerMinute;
+
+    @Value("${ai.gemini.rate-limit.max-concurrent:8}")
+    private int maxConcurrent;
+
+    @Value("${ai.gemini.rate-limit.max-wait-ms:30000}")
+    private long maxWaitMs;
+
+    @Value("${ai.gemini.rate-limit.redis.key-prefix:gemini:ratelimit:}")
+    private String redisKeyPrefix;
+
+    @Bean
+    public GeminiRateLimiter geminiRateLimiter(StringRedisTemplate stringRedisTemplate) {
+        logger.info("Gemini rate limit: {} requests/min, {} tokens/min, {} concurrent ({} backend)",
+                requestsPerMinute, tokensPerMinute, maxConcurrent, backend);
+
+        if ("redis".equalsIgnoreCase(backend)) {
+            return new RedisGeminiRateLimiter(stringRedisTemplate, redisKeyPrefix,
+                    requestsPerMinute, tokensPerMinute, maxConcurrent, maxWaitMs);
+        }
+        return new LocalGeminiRateLimiter(requestsPerMinute, tokensPerMinute, maxConcurrent, maxWaitMs);
+    }
+}
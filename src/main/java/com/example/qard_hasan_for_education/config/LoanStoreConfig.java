@@ -0,0 +1,43 @@
+package com.example.qard_hasan_for_education.config;
+
+import com.example.qard_hasan_for_education.repository.InMemoryLoanRepository;
+import com.example.qard_hasan_for_education.repository.LoanRepository;
+import com.example.qard_hasan_for_education.repository.RedisLoanRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * Chooses where loan accounts live: "memory" keeps them in this instance only,
+ * "redis" shares them between instances and keeps them across restarts.
+ */
+@Configuration
+public class LoanStoreConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoanStoreConfig.class);
+
+    @Value("${loan.store:memory}")
+    private String store;
+
+    @Value("${loan.redis.key-prefix:loan:}")
+    private String redisKeyPrefix;
+
+    @Bean
+    public LoanRepository loanRepository(RedisTemplate<String, Object> redisTemplate, ObjectMapper objectMapper) {
+        logger.info("Loan store: {}", store);
+
+        if ("redis".equalsIgnoreCase(store)) {
+            RedisLoanRepository repository = new RedisLoanRepository(redisTemplate, objectMapper, redisKeyPrefix);
+            long indexed = repository.indexExistingLoans();
+            if (indexed > 0) {
+                logger.info("Indexed {} loans saved before the loan id index existed", indexed);
+            }
+            return repository;
+        }
+        return new InMemoryLoanRepository();
+    }
+}
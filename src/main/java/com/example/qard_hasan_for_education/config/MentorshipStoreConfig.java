@@ -0,0 +1,48 @@
+package com.example.qard_hasan_for_education.config;
+
+import com.example.qard_hasan_for_education.repository.InMemoryMentorshipRepository;
+import com.example.qard_hasan_for_education.repository.MentorshipRepository;
+import com.example.qard_hasan_for_education.repository.RedisMentorshipRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * Chooses where mentorship state lives: "memory" keeps it in this instance only,
+ * "redis" shares it between instances and keeps it across restarts.
+ */
+@Configuration
+public class MentorshipStoreConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MentorshipStoreConfig.class);
+
+    @Value("${mentorship.store:memory}")
+    private String store;
+
+    @Value("${mentorship.redis.key-prefix:mentorship:}")
+    private String redisKeyPrefix;
+
+    @Value("${mentorship.near-cache.max-entries:10000}")
+    private int nearCacheEntries;
+
+    @Value("${mentorship.near-cache.ttl-seconds:5}")
+    private long nearCacheTtlSeconds;
+
+    @Bean
+    public MentorshipRepository mentorshipRepository(RedisTemplate<String, Object> redisTemplate,
+                                                     ObjectMapper objectMapper) {
+        logger.info("Mentorship store: {}", store);
+
+        if ("redis".equalsIgnoreCase(store)) {
+            return new RedisMentorshipRepository(redisTemplate, objectMapper, redisKeyPrefix,
+                    nearCacheEntries, Duration.ofSeconds(nearCacheTtlSeconds));
+        }
+        return new InMemoryMentorshipRepository();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.qard_hasan_for_education.config;
+
+import com.example.qard_hasan_for_education.service.PaymentGateway;
+import com.example.qard_hasan_for_education.service.SimulatedPaymentGateway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Payment gateway used by RepaymentService. Only the simulator exists so far; a real gateway
+ * would be another PaymentGateway bean chosen here.
+ */
+@Configuration
+public class PaymentGatewayConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentGatewayConfig.class);
+
+    @Value("${payment.gateway.simulator.latency-ms:100}")
+    private long latencyMs;
+
+    @Value("${payment.gateway.simulator.failure-rate:0.05}")
+    private double failureRate;
+
+    // Empty for a different sequence on every start
+    @Value("${payment.gateway.simulator.seed:#{null}}")
+    private Long seed;
+
+    @Bean
+    public PaymentGateway paymentGateway() {
+        logger.info("Payment gateway: simulator, {} ms latency, {} failure rate, seed {}", latencyMs, failureRate, seed);
+        return new SimulatedPaymentGateway(Duration.ofMillis(latencyMs), failureRate, seed);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.qard_hasan_for_education.config;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Span export for the application pipeline. Spans are created through the Micrometer Observation API
+ * (see DocumentOrchestrationService, DocumentProcessor and GeminiClient) and bridged to OpenTelemetry.
+ * By default finished spans are written to the log; define another SpanExporter bean (e.g. OTLP)
+ * to send them to a collector instead.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.logging-exporter.enabled", havingValue = "true", matchIfMissing = true)
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
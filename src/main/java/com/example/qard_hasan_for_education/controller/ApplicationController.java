@@ -1,5 +1,6 @@
 // ApplicationController.java - DEBUG VERSION
 package com.example.qard_hasan_for_education.controller;
+import com.example.qard_hasan_for_education.model.ApplicationStatus;
 import com.example.qard_hasan_for_education.model.StudentApplicationData;
 import com.example.qard_hasan_for_education.service.DocumentOrchestrationService;
 import org.slf4j.Logger;
@@ -65,4 +66,79 @@ public class ApplicationController {
         }
     }
 
+    /**
+     * Submit application for background processing - returns immediately with the application ID
+     */
+    @PostMapping("/submit")
+    public ResponseEntity<?> submitApplication(
+            @RequestParam("studentId") String studentId,
+            @RequestParam("bankStatement") MultipartFile bankStatement,
+            @RequestParam("universityLetter") MultipartFile universityLetter,
+            @RequestParam("scholarshipLetter") MultipartFile scholarshipLetter,
+            @RequestParam("passportImage") MultipartFile passportImage) {
+
+        logger.info("Queueing application for student: {}", studentId);
+
+        try {
+            orchestrationService.validateFiles(bankStatement, universityLetter, scholarshipLetter, passportImage);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        try {
+            StudentApplicationData application = orchestrationService.submitApplication(
+                    studentId, bankStatement, universityLetter, scholarshipLetter, passportImage);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Application received and queued for processing");
+            response.put("applicationId", application.getApplicationId());
+            response.put("status", application.getStatus().name());
+            response.put("statusUrl", "/api/applications/" + application.getApplicationId() + "/status");
+            return ResponseEntity.accepted().body(response);
+
+        } catch (DocumentOrchestrationService.ApplicationQueueFullException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(503).header("Retry-After", "5").body(response);
+
+        } catch (Exception e) {
+            logger.error("Error queueing application for student: {}", studentId, e);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Error queueing application: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
     }
+
+    /**
+     * Poll the processing status of an application submitted through /submit
+     */
+    @GetMapping("/{applicationId}/status")
+    public ResponseEntity<?> getApplicationStatus(@PathVariable String applicationId) {
+        StudentApplicationData application = orchestrationService.getSubmittedApplication(applicationId);
+        if (application == null) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Application not found: " + applicationId);
+            return ResponseEntity.status(404).body(response);
+        }
+
+        ApplicationStatus status = application.getStatus();
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("applicationId", applicationId);
+        response.put("status", status.name());
+        response.put("statusDescription", status.getDescription());
+        response.put("completed", status.isCompleted());
+        if (status.isCompleted()) {
+            response.put("application", application);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+}
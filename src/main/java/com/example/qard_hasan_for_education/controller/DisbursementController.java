@@ -1,6 +1,8 @@
 package com.example.qard_hasan_for_education.controller;
 
 import com.example.qard_hasan_for_education.model.*;
+import com.example.qard_hasan_for_education.money.Money;
+import com.example.qard_hasan_for_education.money.MoneyMath;
 import com.example.qard_hasan_for_education.service.DisbursementService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -269,9 +271,11 @@ public class DisbursementController {
             response.put("totalDisbursements", filteredDisbursements.size());
 
             // Calculate summary statistics
-            BigDecimal totalAmount = filteredDisbursements.stream()
-                    .map(DisbursementTransaction::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            long totalAmountMinor = 0L;
+            for (DisbursementTransaction disbursement : filteredDisbursements) {
+                totalAmountMinor = MoneyMath.add(totalAmountMinor, Money.toMinor(disbursement.getAmount()));
+            }
+            BigDecimal totalAmount = Money.toDecimal(totalAmountMinor);
 
             long completedCount = filteredDisbursements.stream()
                     .filter(DisbursementTransaction::isCompleted)
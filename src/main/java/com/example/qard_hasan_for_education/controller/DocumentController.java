@@ -19,6 +19,9 @@ public class DocumentController {
     @Autowired
     private DocumentProcessor processor;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping("/bank-info")
     public ResponseEntity<?> processBankDocument(
             @RequestParam("file") MultipartFile file) {
@@ -128,8 +131,7 @@ public class DocumentController {
                             .body("Unsupported document type: " + documentType);
             }
 
-            ObjectMapper mapper = new ObjectMapper();
-            return ResponseEntity.ok(mapper.writeValueAsString(result));
+            return ResponseEntity.ok(objectMapper.writeValueAsString(result));
 
         } catch (Exception e) {
             return ResponseEntity.status(500)
@@ -3,16 +3,28 @@ package com.example.qard_hasan_for_education.controller;
 import com.example.qard_hasan_for_education.model.*;
 import com.example.qard_hasan_for_education.model.individual.*;
 import com.example.qard_hasan_for_education.service.RepaymentService;
+import com.example.qard_hasan_for_education.support.PortfolioTotals;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/repayment")
@@ -24,6 +36,12 @@ public class RepaymentController {
     @Autowired
     private RepaymentService repaymentService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${payment.batch.max-size:5000}")
+    private int batchMaxSize;
+
     /**
      * Create a new loan account from approved application - STATELESS
      */
@@ -65,18 +83,7 @@ public class RepaymentController {
                     request.getLoanAccount() // Framework will provide current loan state
             );
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Payment calculated successfully");
-            response.put("transaction", result.getTransaction());
-            response.put("updatedLoanAccount", result.getUpdatedLoanAccount());
-            response.put("mentoringOfferSent", result.isMentoringOfferSent());
-
-            if (result.getOfferId() != null) {
-                response.put("offerId", result.getOfferId());
-            }
-
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(paymentResponse(result));
 
         } catch (Exception e) {
             logger.error("Error calculating payment", e);
@@ -85,6 +92,84 @@ public class RepaymentController {
         }
     }
 
+    /**
+     * Same as /calculate-payment, but the request thread is released while the gateway works;
+     * the response is written when the payment completes - STATELESS
+     */
+    @PostMapping("/calculate-payment-async")
+    public CompletableFuture<ResponseEntity<?>> calculateRepaymentAsync(@RequestBody PaymentCalculationRequest request) {
+        return repaymentService.calculateRepaymentAsync(
+                        request.getLoanId(),
+                        request.getAmount(),
+                        request.getPaymentMethod(),
+                        request.getLoanAccount()
+                )
+                .<ResponseEntity<?>>thenApply(result -> ResponseEntity.ok(paymentResponse(result)))
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    logger.error("Error calculating payment", cause);
+                    return ResponseEntity.status(500)
+                            .body(Map.of("success", false, "message", String.valueOf(cause.getMessage())));
+                });
+    }
+
+    /**
+     * Calculate many repayments in one request, e.g. month-end installments - STATELESS.
+     * Every payment gets its own entry in "results" (same order as the request), so one
+     * failed payment does not fail the others.
+     */
+    @PostMapping("/calculate-payment-batch")
+    public CompletableFuture<ResponseEntity<?>> calculateRepaymentBatch(@RequestBody PaymentBatchRequest request) {
+        if (request.getPayments() == null || request.getPayments().isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(Map.of("success", false, "message", "At least one payment is required")));
+        }
+        if (request.getPayments().size() > batchMaxSize) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(Map.of("success", false, "message", "Batch size exceeds maximum of " + batchMaxSize)));
+        }
+
+        List<RepaymentService.PaymentInstruction> instructions = new ArrayList<>(request.getPayments().size());
+        for (PaymentCalculationRequest payment : request.getPayments()) {
+            instructions.add(new RepaymentService.PaymentInstruction(
+                    payment.getLoanId(), payment.getAmount(), payment.getPaymentMethod(), payment.getLoanAccount()));
+        }
+
+        return repaymentService.calculateRepaymentBatch(instructions)
+                .<ResponseEntity<?>>thenApply(results -> {
+                    long succeeded = results.stream().filter(RepaymentService.BatchItemResult::isSuccess).count();
+
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("message", "Batch calculated: " + succeeded + " of " + results.size() + " payments succeeded");
+                    response.put("totalPayments", results.size());
+                    response.put("succeeded", succeeded);
+                    response.put("failed", results.size() - succeeded);
+                    response.put("results", results);
+                    return ResponseEntity.ok(response);
+                })
+                .exceptionally(error -> {
+                    logger.error("Error calculating payment batch", error);
+                    return ResponseEntity.status(500)
+                            .body(Map.of("success", false, "message", "Error calculating payment batch"));
+                });
+    }
+
+    private Map<String, Object> paymentResponse(RepaymentService.PaymentResult result) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Payment calculated successfully");
+        response.put("transaction", result.getTransaction());
+        response.put("updatedLoanAccount", result.getUpdatedLoanAccount());
+        response.put("mentoringOfferSent", result.isMentoringOfferSent());
+
+        if (result.getOfferId() != null) {
+            response.put("offerId", result.getOfferId());
+        }
+        return response;
+    }
+
     /**
      * Calculate upcoming payment information - STATELESS
      */
@@ -128,6 +213,36 @@ public class RepaymentController {
         }
     }
 
+    /**
+     * Dashboard over every stored loan, optionally broken down by universityCountry, program and/or loanStatus
+     * (e.g. ?breakdown=UNIVERSITY_COUNTRY,LOAN_STATUS). Returns only the aggregates.
+     */
+    @GetMapping("/portfolio-dashboard")
+    public ResponseEntity<?> getPortfolioDashboard(@RequestParam(required = false) List<String> breakdown) {
+        Set<PortfolioTotals.Breakdown> breakdowns = EnumSet.noneOf(PortfolioTotals.Breakdown.class);
+        if (breakdown != null) {
+            for (String name : breakdown) {
+                try {
+                    breakdowns.add(PortfolioTotals.Breakdown.valueOf(name.trim().toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.badRequest().body(Map.of("success", false, "message",
+                            "Unknown breakdown: " + name + ". Use UNIVERSITY_COUNTRY, PROGRAM or LOAN_STATUS"));
+                }
+            }
+        }
+
+        try {
+            Map<String, Object> dashboard = repaymentService.calculatePortfolioDashboard(breakdowns);
+
+            return ResponseEntity.ok(Map.of("success", true, "dashboard", dashboard));
+
+        } catch (Exception e) {
+            logger.error("Error calculating portfolio dashboard", e);
+            return ResponseEntity.status(500)
+                    .body(Map.of("success", false, "message", "Error calculating portfolio dashboard"));
+        }
+    }
+
     /**
      * Validate loan data - STATELESS
      */
@@ -151,15 +266,20 @@ public class RepaymentController {
     @PostMapping("/calculate-payment-schedule")
     public ResponseEntity<?> calculatePaymentSchedule(@RequestBody PaymentScheduleRequest request) {
         try {
-            List<Map<String, Object>> schedule = repaymentService.calculatePaymentSchedule(request.getLoanAccount());
+            int offset = request.getOffset() != null ? request.getOffset() : 0;
+            int limit = request.getLimit() != null ? request.getLimit() : Integer.MAX_VALUE;
+            List<Installment> schedule = repaymentService.calculatePaymentSchedule(request.getLoanAccount(), offset, limit);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("paymentSchedule", schedule);
-            response.put("totalRemainingInstallments", schedule.size());
+            response.put("totalRemainingInstallments", repaymentService.countRemainingInstallments(request.getLoanAccount()));
+            response.put("offset", offset);
 
             return ResponseEntity.ok(response);
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
         } catch (Exception e) {
             logger.error("Error calculating payment schedule", e);
             return ResponseEntity.status(500)
@@ -167,6 +287,37 @@ public class RepaymentController {
         }
     }
 
+    /**
+     * Payment schedule written to the response as it is generated, one installment at a time,
+     * so even a long-term loan's full schedule is never held in memory - STATELESS
+     */
+    @PostMapping(value = "/calculate-payment-schedule/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> streamPaymentSchedule(@RequestBody PaymentScheduleRequest request) {
+        int offset = request.getOffset() != null ? request.getOffset() : 0;
+        int limit = request.getLimit() != null ? request.getLimit() : Integer.MAX_VALUE;
+        if (offset < 0 || limit < 0) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", "Offset and limit must not be negative"));
+        }
+
+        LoanAccount loanAccount = request.getLoanAccount();
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writeBooleanField("success", true);
+                generator.writeNumberField("totalRemainingInstallments", repaymentService.countRemainingInstallments(loanAccount));
+                generator.writeNumberField("offset", offset);
+                generator.writeArrayFieldStart("paymentSchedule");
+                Iterator<Installment> installments = repaymentService.paymentSchedule(loanAccount, offset, limit).iterator();
+                while (installments.hasNext()) {
+                    generator.writeObject(installments.next());
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     /**
      * Calculate payment history summary - STATELESS
      */
@@ -255,6 +406,13 @@ public class RepaymentController {
         public void setLoanAccount(LoanAccount loanAccount) { this.loanAccount = loanAccount; }
     }
 
+    public static class PaymentBatchRequest {
+        private List<PaymentCalculationRequest> payments;
+
+        public List<PaymentCalculationRequest> getPayments() { return payments; }
+        public void setPayments(List<PaymentCalculationRequest> payments) { this.payments = payments; }
+    }
+
     public static class UpcomingPaymentRequest {
         private LoanAccount loanAccount;
 
@@ -278,9 +436,16 @@ public class RepaymentController {
 
     public static class PaymentScheduleRequest {
         private LoanAccount loanAccount;
+        // Optional page of the schedule; the whole schedule when absent
+        private Integer offset;
+        private Integer limit;
 
         public LoanAccount getLoanAccount() { return loanAccount; }
         public void setLoanAccount(LoanAccount loanAccount) { this.loanAccount = loanAccount; }
+        public Integer getOffset() { return offset; }
+        public void setOffset(Integer offset) { this.offset = offset; }
+        public Integer getLimit() { return limit; }
+        public void setLimit(Integer limit) { this.limit = limit; }
     }
 
     public static class PaymentSummaryRequest {
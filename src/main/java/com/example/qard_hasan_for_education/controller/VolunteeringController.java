@@ -1,6 +1,7 @@
 package com.example.qard_hasan_for_education.controller;
 
 import com.example.qard_hasan_for_education.model.*;
+import com.example.qard_hasan_for_education.service.MentorshipService;
 import com.example.qard_hasan_for_education.service.VolunteeringService;
 import com.example.qard_hasan_for_education.service.NotificationService;
 import org.slf4j.Logger;
@@ -20,12 +21,18 @@ public class VolunteeringController {
 
     private static final Logger logger = LoggerFactory.getLogger(VolunteeringController.class);
 
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private VolunteeringService volunteeringService;
 
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private MentorshipService mentorshipService;
+
     /**
      * Calculate mentoring offer acceptance - STATELESS
      */
@@ -109,7 +116,9 @@ public class VolunteeringController {
     }
 
     /**
-     * Calculate potential mentees for a mentor - STATELESS
+     * Calculate potential mentees for a mentor. With allMentees in the body this is STATELESS (as before);
+     * without it, mentees and matches come from the mentorship store, one page of limit mentees at a time
+     * (continue with the returned nextCursor).
      */
     @PostMapping("/calculate-potential-mentees")
     public ResponseEntity<?> calculatePotentialMentees(@RequestBody CalculatePotentialMenteesRequest request) {
@@ -117,23 +126,35 @@ public class VolunteeringController {
             if (request.getMentor() == null) {
                 return ResponseEntity.badRequest().body(Map.of("success", false, "message", "Mentor profile is required"));
             }
-            if (request.getAllMentees() == null) {
-                return ResponseEntity.badRequest().body(Map.of("success", false, "message", "All mentees data is required"));
-            }
-            if (request.getExistingMatches() == null) {
-                return ResponseEntity.badRequest().body(Map.of("success", false, "message", "Existing matches data is required"));
-            }
 
-            List<MenteeProfile> potentialMentees = volunteeringService.calculatePotentialMentees(
-                    request.getMentor(),
-                    request.getHelpTypes(),
-                    request.getAllMentees(),
-                    request.getExistingMatches()
-            );
+            List<MenteeProfile> potentialMentees;
+            String nextCursor = null;
+            if (request.getAllMentees() != null) {
+                if (request.getExistingMatches() == null) {
+                    return ResponseEntity.badRequest().body(Map.of("success", false, "message", "Existing matches data is required"));
+                }
+                potentialMentees = volunteeringService.calculatePotentialMentees(
+                        request.getMentor(),
+                        request.getHelpTypes(),
+                        request.getAllMentees(),
+                        request.getExistingMatches()
+                );
+            } else {
+                int limit = request.getLimit() != null ? request.getLimit() : DEFAULT_PAGE_SIZE;
+                if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                    return ResponseEntity.badRequest().body(Map.of("success", false, "message",
+                            "Limit must be between 1 and " + MAX_PAGE_SIZE));
+                }
+                MentorshipService.MenteePage page = mentorshipService.findPotentialMentees(
+                        request.getMentor(), request.getHelpTypes(), request.getCursor(), limit);
+                potentialMentees = page.getMentees();
+                nextCursor = page.getNextCursor();
+            }
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("mentees", potentialMentees);
+            response.put("nextCursor", nextCursor);
             response.put("totalMentees", potentialMentees.size());
             response.put("message", potentialMentees.isEmpty() ?
                     "No mentees found matching your criteria at the moment. Check back later!" :
@@ -141,6 +162,8 @@ public class VolunteeringController {
 
             return ResponseEntity.ok(response);
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
         } catch (Exception e) {
             logger.error("Error calculating potential mentees", e);
             return ResponseEntity.status(500)
@@ -149,7 +172,8 @@ public class VolunteeringController {
     }
 
     /**
-     * Calculate mentor statistics and impact - STATELESS
+     * Calculate mentor statistics and impact. Uses allMatches from the body when given (STATELESS);
+     * otherwise reads only this mentor's matches from the mentorship store.
      */
     @PostMapping("/calculate-mentor-stats")
     public ResponseEntity<?> calculateMentorStats(@RequestBody CalculateMentorStatsRequest request) {
@@ -157,13 +181,13 @@ public class VolunteeringController {
             if (request.getMentor() == null) {
                 return ResponseEntity.badRequest().body(Map.of("success", false, "message", "Mentor profile is required"));
             }
-            if (request.getAllMatches() == null) {
-                return ResponseEntity.badRequest().body(Map.of("success", false, "message", "All matches data is required"));
-            }
 
+            List<MentorshipMatch> matches = request.getAllMatches() != null
+                    ? request.getAllMatches()
+                    : mentorshipService.getMentorMatches(request.getMentor().getMentorId());
             Map<String, Object> stats = volunteeringService.calculateMentorStats(
                     request.getMentor(),
-                    request.getAllMatches()
+                    matches
             );
 
             if (stats.isEmpty()) {
@@ -378,6 +402,9 @@ public class VolunteeringController {
         private List<HelpType> helpTypes;
         private List<MenteeProfile> allMentees;
         private List<MentorshipMatch> existingMatches;
+        // Only used when allMentees is not given
+        private String cursor;
+        private Integer limit;
 
         // Getters and setters
         public MentorProfile getMentor() { return mentor; }
@@ -388,6 +415,10 @@ public class VolunteeringController {
         public void setAllMentees(List<MenteeProfile> allMentees) { this.allMentees = allMentees; }
         public List<MentorshipMatch> getExistingMatches() { return existingMatches; }
         public void setExistingMatches(List<MentorshipMatch> existingMatches) { this.existingMatches = existingMatches; }
+        public String getCursor() { return cursor; }
+        public void setCursor(String cursor) { this.cursor = cursor; }
+        public Integer getLimit() { return limit; }
+        public void setLimit(Integer limit) { this.limit = limit; }
     }
 
     public static class CalculateMentorStatsRequest {
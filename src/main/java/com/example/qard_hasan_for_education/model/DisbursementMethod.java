@@ -1,16 +1,33 @@
 package com.example.qard_hasan_for_education.model;
 
+import com.example.qard_hasan_for_education.money.Money;
+import com.example.qard_hasan_for_education.money.Rate;
+
+import java.math.RoundingMode;
+
 public enum DisbursementMethod {
-    BANK_TRANSFER("Direct bank transfer"),
-    WIRE_TRANSFER("International wire transfer"),
-    DIGITAL_WALLET("Digital wallet transfer"),
-    CHECK("Physical check");
+    BANK_TRANSFER("Direct bank transfer", Rate.ofBasisPoints(100), 0L),    // 1% fee
+    WIRE_TRANSFER("International wire transfer", Rate.ZERO, 2500L),      // Fixed $25 fee
+    DIGITAL_WALLET("Digital wallet transfer", Rate.ofBasisPoints(50), 0L), // 0.5% fee
+    CHECK("Physical check", Rate.ZERO, 1000L);                             // Fixed $10 fee
 
     private final String description;
+    private final Rate feeRate;
+    private final long fixedFeeMinor;
 
-    DisbursementMethod(String description) {
+    DisbursementMethod(String description, Rate feeRate, long fixedFeeMinor) {
         this.description = description;
+        this.feeRate = feeRate;
+        this.fixedFeeMinor = fixedFeeMinor;
     }
 
     public String getDescription() { return description; }
+
+    /**
+     * Fee charged for sending the given amount this way, rounded half up to the cent
+     */
+    public Money fee(Money amount) {
+        return amount.times(feeRate, RoundingMode.HALF_UP)
+                .plus(Money.ofMinor(fixedFeeMinor, amount.getCurrency()));
+    }
 }
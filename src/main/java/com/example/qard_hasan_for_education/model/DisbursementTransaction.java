@@ -1,5 +1,6 @@
 package com.example.qard_hasan_for_education.model;
 
+import com.example.qard_hasan_for_education.money.Money;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -82,8 +83,10 @@ public class DisbursementTransaction {
         this.status = DisbursementStatus.PENDING;
         this.initiatedAt = LocalDateTime.now();
         this.referenceNumber = generateReferenceNumber();
-        this.fees = calculateFees(amount, method);
-        this.netAmount = amount.subtract(this.fees);
+        Money gross = Money.of(amount);
+        Money fee = method.fee(gross);
+        this.fees = fee.toBigDecimal();
+        this.netAmount = gross.minus(fee).toBigDecimal();
         this.estimatedDelivery = calculateEstimatedDelivery(method);
     }
 
@@ -158,21 +161,6 @@ public class DisbursementTransaction {
         return "REF" + System.currentTimeMillis();
     }
 
-    private BigDecimal calculateFees(BigDecimal amount, DisbursementMethod method) {
-        switch (method) {
-            case BANK_TRANSFER:
-                return amount.multiply(new BigDecimal("0.01")); // 1% fee
-            case WIRE_TRANSFER:
-                return new BigDecimal("25.00"); // Fixed $25 fee
-            case DIGITAL_WALLET:
-                return amount.multiply(new BigDecimal("0.005")); // 0.5% fee
-            case CHECK:
-                return new BigDecimal("10.00"); // Fixed $10 fee
-            default:
-                return BigDecimal.ZERO;
-        }
-    }
-
     private LocalDateTime calculateEstimatedDelivery(DisbursementMethod method) {
         LocalDateTime now = LocalDateTime.now();
         switch (method) {
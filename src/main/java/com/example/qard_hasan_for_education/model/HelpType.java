@@ -1,6 +1,8 @@
 // File: src/main/java/com/example/qard_hasan_for_education/model/HelpType.java
 package com.example.qard_hasan_for_education.model;
 
+import java.util.Collection;
+
 public enum HelpType {
     ACADEMIC_GUIDANCE("Academic Guidance & Study Tips"),
     MENTAL_HEALTH_SUPPORT("Mental Health & Emotional Support"),
@@ -22,4 +24,26 @@ public enum HelpType {
     public String getDescription() {
         return description;
     }
+
+    /**
+     * This type's bit in a help-type mask; two lists share a type when their masks intersect
+     */
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * Bit mask of the given types; null or empty gives 0
+     */
+    public static long mask(Collection<HelpType> helpTypes) {
+        long mask = 0L;
+        if (helpTypes != null) {
+            for (HelpType helpType : helpTypes) {
+                if (helpType != null) {
+                    mask |= helpType.bit();
+                }
+            }
+        }
+        return mask;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.qard_hasan_for_education.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One upcoming row of a loan's payment schedule. Serializes to the same JSON fields
+ * the schedule endpoint has always returned.
+ */
+public record Installment(int installmentNumber,
+                          LocalDate dueDate,
+                          BigDecimal amount,
+                          BigDecimal remainingBalanceAfter,
+                          PaymentStatus status) {
+}
@@ -1,12 +1,21 @@
 package com.example.qard_hasan_for_education.model;
 
+import com.example.qard_hasan_for_education.money.Money;
+import com.example.qard_hasan_for_education.money.MoneyMath;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 public class LoanAccount {
+
+    /**
+     * Placeholder for a student detail that is not known (e.g. a university outside the country map)
+     */
+    public static final String UNKNOWN = "Unknown";
+
     @JsonProperty("loanId")
     private String loanId;
 
@@ -75,7 +84,7 @@ public class LoanAccount {
         this.remainingBalance = principalAmount;
         this.totalInstallments = totalInstallments;
         this.completedInstallments = 0;
-        this.monthlyInstallment = principalAmount.divide(BigDecimal.valueOf(totalInstallments), 2, BigDecimal.ROUND_HALF_UP);
+        this.monthlyInstallment = Money.of(principalAmount).dividedBy(totalInstallments, RoundingMode.HALF_UP).toBigDecimal();
         this.loanStartDate = LocalDate.now();
         this.nextPaymentDate = LocalDate.now().plusMonths(1);
         this.loanStatus = LoanStatus.ACTIVE;
@@ -150,11 +159,23 @@ public class LoanAccount {
                 !universityCountry.equalsIgnoreCase("Indonesia");
     }
 
+    /**
+     * Due date of the given installment (1-based): that many months after loanStartDate, so a loan
+     * started on the 31st stays due at each month's end. Loans without a start date count from
+     * nextPaymentDate instead.
+     */
+    public LocalDate dueDateOf(int installmentNumber) {
+        if (loanStartDate != null) {
+            return loanStartDate.plusMonths(installmentNumber);
+        }
+        return nextPaymentDate.plusMonths(installmentNumber - (completedInstallments + 1L));
+    }
+
     public BigDecimal getRepaymentProgress() {
         if (totalInstallments == 0) return BigDecimal.ZERO;
-        return BigDecimal.valueOf(completedInstallments)
-                .divide(BigDecimal.valueOf(totalInstallments), 4, BigDecimal.ROUND_HALF_UP)
-                .multiply(BigDecimal.valueOf(100));
+        // Same value and scale as the old ratio rounded to 4 places times 100, e.g. 33.3300
+        BigDecimal percentage = MoneyMath.percentage(completedInstallments, totalInstallments, 2, RoundingMode.HALF_UP);
+        return percentage.setScale(4);
     }
 
     private String generateLoanId() {
@@ -31,8 +31,9 @@ public class StudentApplicationData {
     @JsonProperty("passportInfo")
     private PassportInfo passportInfo;
 
+    // Volatile: updated by the background worker while status polls read it
     @JsonProperty("status")
-    private ApplicationStatus status;
+    private volatile ApplicationStatus status;
 
     @JsonProperty("processingStartTime")
     private LocalDateTime processingStartTime;
@@ -43,6 +44,9 @@ public class StudentApplicationData {
     @JsonProperty("processingTimeMs")
     private Long processingTimeMs;
 
+    @JsonProperty("failureReason")
+    private String failureReason;
+
 
 
     // New risk assessment field
@@ -93,6 +97,9 @@ public class StudentApplicationData {
     public Long getProcessingTimeMs() { return processingTimeMs; }
     public void setProcessingTimeMs(Long processingTimeMs) { this.processingTimeMs = processingTimeMs; }
 
+    public String getFailureReason() { return failureReason; }
+    public void setFailureReason(String failureReason) { this.failureReason = failureReason; }
+
     public ApplicationRiskProfile getRiskProfile() { return riskProfile; }
     public void setRiskProfile(ApplicationRiskProfile riskProfile) { this.riskProfile = riskProfile; }
 
@@ -0,0 +1,60 @@
+package com.example.qard_hasan_for_education.model.gemini;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.springframework.core.io.InputStreamSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * generateContent request envelope. The attached document is written as base64 straight from its
+ * InputStream, so serializing a request never holds the file in memory.
+ */
+public record GeminiRequest(List<Content> contents) {
+
+    /**
+     * A single-turn request: the prompt followed by one inline document.
+     */
+    public static GeminiRequest withDocument(String prompt, String mimeType, InputStreamSource document) {
+        return new GeminiRequest(List.of(new Content(List.of(
+                Part.text(prompt),
+                Part.inline(new InlineData(mimeType, document))))));
+    }
+
+    public record Content(List<Part> parts) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Part(String text, InlineData inlineData) {
+
+        public static Part text(String text) {
+            return new Part(text, null);
+        }
+
+        public static Part inline(InlineData inlineData) {
+            return new Part(null, inlineData);
+        }
+    }
+
+    public record InlineData(String mimeType,
+                             @JsonSerialize(using = Base64StreamSerializer.class) InputStreamSource data) {
+    }
+
+    /**
+     * Base64-encodes the source's stream directly into the generator.
+     */
+    static class Base64StreamSerializer extends JsonSerializer<InputStreamSource> {
+        @Override
+        public void serialize(InputStreamSource value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            try (InputStream in = value.getInputStream()) {
+                gen.writeBinary(Base64Variants.MIME_NO_LINEFEEDS, in, -1);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.qard_hasan_for_education.model.gemini;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * The parts of a generateContent response we read. Everything else Gemini sends is ignored.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GeminiResponse(List<Candidate> candidates, Error error) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Candidate(Content content, String finishReason) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Content(List<Part> parts) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Part(String text) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Error(int code, String message, String status) {
+    }
+}
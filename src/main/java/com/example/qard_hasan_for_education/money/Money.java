@@ -0,0 +1,141 @@
+package com.example.qard_hasan_for_education.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * An amount of one currency, held as a long count of its minor unit (cents for USD).
+ * Immutable. Arithmetic is exact; only rate and division results are rounded, always with
+ * an explicit RoundingMode. Amounts of different currencies cannot be combined.
+ *
+ * The API and models still carry BigDecimal without a currency: convert at the edges with
+ * of(...) and toBigDecimal(), and use MoneyMath directly on the minor units in hot loops.
+ */
+public final class Money implements Comparable<Money> {
+
+    /**
+     * The currency every amount in the API is in, since none of them carry one
+     */
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("USD");
+
+    private final long minor;
+    private final Currency currency;
+
+    private Money(long minor, Currency currency) {
+        this.minor = minor;
+        this.currency = Objects.requireNonNull(currency, "currency");
+    }
+
+    public static Money ofMinor(long minor, Currency currency) {
+        return new Money(minor, currency);
+    }
+
+    public static Money zero(Currency currency) {
+        return new Money(0L, currency);
+    }
+
+    /**
+     * Decimal places beyond the currency's are rounded with the given mode
+     */
+    public static Money of(BigDecimal amount, Currency currency, RoundingMode mode) {
+        return new Money(MoneyMath.toMinor(amount, currency.getDefaultFractionDigits(), mode), currency);
+    }
+
+    public static Money of(BigDecimal amount) {
+        return of(amount, DEFAULT_CURRENCY, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Minor units of an API amount (DEFAULT_CURRENCY, half up), without creating a Money
+     */
+    public static long toMinor(BigDecimal amount) {
+        return MoneyMath.toMinor(amount, DEFAULT_CURRENCY.getDefaultFractionDigits(), RoundingMode.HALF_UP);
+    }
+
+    /**
+     * API amount (DEFAULT_CURRENCY) for the given minor units
+     */
+    public static BigDecimal toDecimal(long minor) {
+        return MoneyMath.toBigDecimal(minor, DEFAULT_CURRENCY.getDefaultFractionDigits());
+    }
+
+    public long getMinor() {
+        return minor;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public Money plus(Money other) {
+        return new Money(MoneyMath.add(minor, sameCurrency(other).minor), currency);
+    }
+
+    public Money minus(Money other) {
+        return new Money(MoneyMath.subtract(minor, sameCurrency(other).minor), currency);
+    }
+
+    public Money times(Rate rate, RoundingMode mode) {
+        return new Money(MoneyMath.applyRate(minor, rate, mode), currency);
+    }
+
+    public Money times(long factor) {
+        return new Money(Math.multiplyExact(minor, factor), currency);
+    }
+
+    /**
+     * One of parts equal shares, rounded; parts x the share may differ from this amount by the rounding
+     */
+    public Money dividedBy(long parts, RoundingMode mode) {
+        return new Money(MoneyMath.divide(minor, parts, mode), currency);
+    }
+
+    public Money max(Money other) {
+        return compareTo(other) >= 0 ? this : other;
+    }
+
+    public int signum() {
+        return Long.signum(minor);
+    }
+
+    public boolean isZero() {
+        return minor == 0L;
+    }
+
+    public boolean isPositive() {
+        return minor > 0L;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return MoneyMath.toBigDecimal(minor, currency.getDefaultFractionDigits());
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minor, sameCurrency(other).minor);
+    }
+
+    private Money sameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+        return other;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && other.minor == minor && other.currency.equals(currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minor) * 31 + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return currency.getCurrencyCode() + " " + toBigDecimal().toPlainString();
+    }
+}
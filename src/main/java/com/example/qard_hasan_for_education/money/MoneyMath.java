@@ -0,0 +1,115 @@
+package com.example.qard_hasan_for_education.money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Arithmetic on amounts held as long minor units (cents). Everything here works on primitives,
+ * so loops that add up or apply rates to many amounts allocate nothing. Overflow throws
+ * ArithmeticException instead of wrapping.
+ */
+public final class MoneyMath {
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L
+    };
+
+    private MoneyMath() {
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * numerator / denominator rounded with the given mode, like BigDecimal.divide at scale 0
+     */
+    public static long divide(long numerator, long denominator, RoundingMode mode) {
+        // Long.MIN_VALUE / -1 is the one quotient that does not fit
+        long quotient = Math.divideExact(numerator, denominator);
+        long remainder = numerator % denominator;
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        // Sign of the exact quotient; rounding up means away from zero
+        int signum = ((numerator ^ denominator) >> 63) == 0 ? 1 : -1;
+        boolean awayFromZero;
+        switch (mode) {
+            case UNNECESSARY:
+                throw new ArithmeticException("Rounding necessary");
+            case DOWN:
+                awayFromZero = false;
+                break;
+            case UP:
+                awayFromZero = true;
+                break;
+            case FLOOR:
+                awayFromZero = signum < 0;
+                break;
+            case CEILING:
+                awayFromZero = signum > 0;
+                break;
+            default:
+                // Compare the remainder with half the divisor without overflowing
+                long absRemainder = Math.abs(remainder);
+                int half = Long.compare(absRemainder, Math.abs(denominator) - absRemainder);
+                if (half != 0) {
+                    awayFromZero = half > 0;
+                } else if (mode == RoundingMode.HALF_UP) {
+                    awayFromZero = true;
+                } else if (mode == RoundingMode.HALF_DOWN) {
+                    awayFromZero = false;
+                } else {
+                    awayFromZero = (quotient & 1) != 0; // HALF_EVEN
+                }
+        }
+        return awayFromZero ? quotient + signum : quotient;
+    }
+
+    /**
+     * amount x rate, rounded to minor units
+     */
+    public static long applyRate(long amountMinor, Rate rate, RoundingMode mode) {
+        long ppm = rate.getPartsPerMillion();
+        long product;
+        try {
+            product = Math.multiplyExact(amountMinor, ppm);
+        } catch (ArithmeticException e) {
+            // Only for amounts in the trillions; not worth a fast path
+            return new BigDecimal(BigInteger.valueOf(amountMinor).multiply(BigInteger.valueOf(ppm)))
+                    .divide(BigDecimal.valueOf(Rate.ONE_PPM), 0, mode)
+                    .longValueExact();
+        }
+        return divide(product, Rate.ONE_PPM, mode);
+    }
+
+    /**
+     * The amount in minor units of a currency with the given number of decimal places.
+     * Extra decimal places are rounded with the given mode.
+     */
+    public static long toMinor(BigDecimal amount, int fractionDigits, RoundingMode mode) {
+        BigDecimal scaled = amount.scale() == fractionDigits ? amount : amount.setScale(fractionDigits, mode);
+        return scaled.movePointRight(fractionDigits).longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long minor, int fractionDigits) {
+        return BigDecimal.valueOf(minor, fractionDigits);
+    }
+
+    /**
+     * part / whole as a percentage with the given decimal places, e.g. 1/3 at 2 places is 33.33
+     */
+    public static BigDecimal percentage(long part, long whole, int fractionDigits, RoundingMode mode) {
+        if (whole == 0) {
+            return BigDecimal.ZERO;
+        }
+        long scaled = divide(Math.multiplyExact(part, 100 * POWERS_OF_TEN[fractionDigits]), whole, mode);
+        return BigDecimal.valueOf(scaled, fractionDigits);
+    }
+}
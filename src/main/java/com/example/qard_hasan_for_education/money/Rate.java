@@ -0,0 +1,47 @@
+package com.example.qard_hasan_for_education.money;
+
+/**
+ * A fraction to apply to amounts (fees, shares), held exactly in parts per million.
+ */
+public final class Rate {
+
+    static final long ONE_PPM = 1_000_000L;
+
+    public static final Rate ZERO = new Rate(0L);
+
+    private final long partsPerMillion;
+
+    private Rate(long partsPerMillion) {
+        this.partsPerMillion = partsPerMillion;
+    }
+
+    /**
+     * e.g. ofBasisPoints(100) is 1%, ofBasisPoints(50) is 0.5%
+     */
+    public static Rate ofBasisPoints(long basisPoints) {
+        return new Rate(Math.multiplyExact(basisPoints, 100L));
+    }
+
+    public static Rate ofPartsPerMillion(long partsPerMillion) {
+        return new Rate(partsPerMillion);
+    }
+
+    public long getPartsPerMillion() {
+        return partsPerMillion;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Rate other && other.partsPerMillion == partsPerMillion;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(partsPerMillion);
+    }
+
+    @Override
+    public String toString() {
+        return (partsPerMillion / 10_000.0) + "%";
+    }
+}
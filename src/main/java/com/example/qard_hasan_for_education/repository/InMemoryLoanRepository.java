@@ -0,0 +1,65 @@
+package com.example.qard_hasan_for_education.repository;
+
+import com.example.qard_hasan_for_education.model.LoanAccount;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Single-instance store: loans live in this JVM and are gone after a restart.
+ * Pages are cut from the map's weakly consistent iterator, which returns every loan at most once.
+ */
+public class InMemoryLoanRepository implements LoanRepository {
+
+    private final Map<String, LoanAccount> loans = new ConcurrentHashMap<>();
+
+    @Override
+    public LoanAccount findLoan(String loanId) {
+        return loans.get(loanId);
+    }
+
+    @Override
+    public void saveLoan(LoanAccount loan) {
+        loans.put(loan.getLoanId(), loan);
+    }
+
+    @Override
+    public long countLoans() {
+        return loans.size();
+    }
+
+    @Override
+    public Stream<List<LoanAccount>> streamLoanPages(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        Iterator<LoanAccount> all = loans.values().iterator();
+        Iterator<List<LoanAccount>> pages = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return all.hasNext();
+            }
+
+            @Override
+            public List<LoanAccount> next() {
+                if (!all.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<LoanAccount> page = new ArrayList<>(pageSize);
+                while (page.size() < pageSize && all.hasNext()) {
+                    page.add(all.next());
+                }
+                return page;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+}
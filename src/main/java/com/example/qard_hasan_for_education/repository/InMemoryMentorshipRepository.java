@@ -0,0 +1,376 @@
+package com.example.qard_hasan_for_education.repository;
+
+import com.example.qard_hasan_for_education.model.HelpType;
+import com.example.qard_hasan_for_education.model.MenteeProfile;
+import com.example.qard_hasan_for_education.model.MentorProfile;
+import com.example.qard_hasan_for_education.model.MentorshipMatch;
+import com.example.qard_hasan_for_education.model.MentorshipMatchStatus;
+import com.example.qard_hasan_for_education.support.MenteePriority;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Single-instance store: everything lives in this JVM and is gone after a restart.
+ * Keeps the same indexes as the Redis store so lookups by mentor, mentee or status do not scan every match:
+ * per-user sets ordered newest first, the set of mentor/mentee pairs with an ACTIVE or PAUSED match, and per help type
+ * the mentees waiting for a mentor in priority order.
+ * Writes are serialized per mentor (matches, reservations, slots) or per mentee (the waiting indexes)
+ * through a fixed set of lock stripes, so concurrent saves of one entity cannot leave its index entries
+ * disagreeing. The indexes themselves are concurrent collections, so writes for different mentors or
+ * mentees rarely wait on each other, and reads never block.
+ */
+public class InMemoryMentorshipRepository implements MentorshipRepository {
+
+    private static final Comparator<IndexEntry> NEWEST_FIRST = Comparator
+            .comparingLong(IndexEntry::matchedAtMillis).reversed()
+            .thenComparing(IndexEntry::matchId);
+    private static final Comparator<WaitingEntry> HIGHEST_PRIORITY_FIRST = Comparator
+            .comparingDouble(WaitingEntry::score).reversed()
+            .thenComparing(WaitingEntry::menteeId, Comparator.reverseOrder());
+
+    private final Map<String, MentorProfile> mentors = new ConcurrentHashMap<>();
+    private final Map<String, MenteeProfile> mentees = new ConcurrentHashMap<>();
+    private final Map<String, MentorshipMatch> matches = new ConcurrentHashMap<>();
+
+    private final Map<String, NavigableSet<IndexEntry>> matchesByMentor = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<IndexEntry>> matchesByMentee = new ConcurrentHashMap<>();
+    private final Map<MentorshipMatchStatus, Set<String>> matchesByStatus = new EnumMap<>(MentorshipMatchStatus.class);
+    private final Set<String> activePairs = ConcurrentHashMap.newKeySet();
+    private final Map<HelpType, NavigableSet<WaitingEntry>> waitingByHelpType = new EnumMap<>(HelpType.class);
+    // What each waiting mentee is currently indexed under, so a save can take the old entries out
+    private final Map<String, WaitingEntry> waiting = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> statistics = new ConcurrentHashMap<>();
+
+    private final ReentrantLock[] locks;
+
+    public InMemoryMentorshipRepository() {
+        this(64);
+    }
+
+    public InMemoryMentorshipRepository(int lockStripes) {
+        for (MentorshipMatchStatus status : MentorshipMatchStatus.values()) {
+            matchesByStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+        for (HelpType helpType : HelpType.values()) {
+            waitingByHelpType.put(helpType, new ConcurrentSkipListSet<>(HIGHEST_PRIORITY_FIRST));
+        }
+        locks = new ReentrantLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public MentorProfile findMentor(String mentorId) {
+        return mentors.get(mentorId);
+    }
+
+    @Override
+    public MentorProfile findMentorForUpdate(String mentorId) {
+        return findMentor(mentorId);
+    }
+
+    @Override
+    public void saveMentor(MentorProfile mentor) {
+        mentors.put(mentor.getMentorId(), mentor);
+    }
+
+    @Override
+    public MenteeProfile findMentee(String menteeId) {
+        return mentees.get(menteeId);
+    }
+
+    @Override
+    public MenteeProfile findMenteeForUpdate(String menteeId) {
+        return findMentee(menteeId);
+    }
+
+    @Override
+    public void saveMentee(MenteeProfile mentee) {
+        String menteeId = mentee.getMenteeId();
+        long helpMask = HelpType.mask(mentee.getNeededHelpTypes());
+        WaitingEntry entry = mentee.isNeedsMentor() && helpMask != 0L
+                ? new WaitingEntry(MenteePriority.score(mentee), menteeId, helpMask)
+                : null;
+
+        ReentrantLock lock = lockFor(menteeId);
+        lock.lock();
+        try {
+            mentees.put(menteeId, mentee);
+            WaitingEntry previous = entry != null ? waiting.put(menteeId, entry) : waiting.remove(menteeId);
+            if (previous != null) {
+                forEachHelpType(previous.helpMask(), helpType -> waitingByHelpType.get(helpType).remove(previous));
+            }
+            if (entry != null) {
+                forEachHelpType(helpMask, helpType -> waitingByHelpType.get(helpType).add(entry));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<MenteeProfile> findWaitingMentees(long helpMask, Set<String> excludedMenteeIds,
+                                                  WaitingPosition after, int limit) {
+        WaitingEntry start = after != null ? new WaitingEntry(after.score(), after.menteeId(), 0L) : null;
+
+        // k-way merge of the requested help-type indexes, each already in priority order
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(
+                Comparator.comparing(Cursor::head, HIGHEST_PRIORITY_FIRST));
+        forEachHelpType(helpMask, helpType -> {
+            NavigableSet<WaitingEntry> index = waitingByHelpType.get(helpType);
+            Iterator<WaitingEntry> entries = (start != null ? index.tailSet(start, false) : index).iterator();
+            if (entries.hasNext()) {
+                heads.add(new Cursor(entries.next(), entries));
+            }
+        });
+
+        List<MenteeProfile> result = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        while (result.size() < limit && !heads.isEmpty()) {
+            Cursor cursor = heads.poll();
+            String menteeId = cursor.head().menteeId();
+            if (seen.add(menteeId) && !excludedMenteeIds.contains(menteeId)) {
+                MenteeProfile mentee = mentees.get(menteeId);
+                if (mentee != null && mentee.isNeedsMentor()) {
+                    result.add(mentee);
+                }
+            }
+            if (cursor.rest().hasNext()) {
+                heads.add(new Cursor(cursor.rest().next(), cursor.rest()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public MentorshipMatch findMatch(String matchId) {
+        return matches.get(matchId);
+    }
+
+    @Override
+    public void saveMatch(MentorshipMatch match) {
+        String matchId = match.getMatchId();
+        IndexEntry entry = new IndexEntry(matchedAtMillis(match), matchId);
+
+        // Every write to a match, its pair and its mentor's load holds this stripe; reentrant for reserve/update
+        ReentrantLock lock = lockFor(match.getMentorId());
+        lock.lock();
+        try {
+            matches.put(matchId, match);
+            matchesByMentor.computeIfAbsent(match.getMentorId(), k -> new ConcurrentSkipListSet<>(NEWEST_FIRST)).add(entry);
+            matchesByMentee.computeIfAbsent(match.getMenteeId(), k -> new ConcurrentSkipListSet<>(NEWEST_FIRST)).add(entry);
+            // Add to the new status before leaving the old one, so the match is never missing from every index
+            if (match.getStatus() != null) {
+                matchesByStatus.get(match.getStatus()).add(matchId);
+            }
+            matchesByStatus.forEach((status, ids) -> {
+                if (status != match.getStatus()) {
+                    ids.remove(matchId);
+                }
+            });
+            if (MentorshipRepository.holdsMentorSlot(match.getStatus())) {
+                activePairs.add(pair(match.getMentorId(), match.getMenteeId()));
+            } else {
+                activePairs.remove(pair(match.getMentorId(), match.getMenteeId()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public MatchUpdate updateMatch(String matchId, Set<MentorshipMatchStatus> expectedStatuses,
+                                   MentorshipMatchStatus newStatus, Consumer<MentorshipMatch> change) {
+        MentorshipMatch match = matches.get(matchId);
+        if (match == null) {
+            return new MatchUpdate(null, null, false);
+        }
+        // The mentor's stripe, so no other update of this match can interleave
+        ReentrantLock lock = lockFor(match.getMentorId());
+        lock.lock();
+        try {
+            MentorshipMatchStatus previousStatus = match.getStatus();
+            if (previousStatus == null || !expectedStatuses.contains(previousStatus)) {
+                return new MatchUpdate(match, previousStatus, false);
+            }
+            MentorshipMatchStatus status = newStatus != null ? newStatus : previousStatus;
+            checkNotReopened(matchId, previousStatus, status);
+
+            match.setStatus(status);
+            change.accept(match);
+            saveMatch(match);
+            if (MentorshipRepository.holdsMentorSlot(previousStatus) && !MentorshipRepository.holdsMentorSlot(status)) {
+                releaseMentorSlot(match.getMentorId());
+            }
+            return new MatchUpdate(match, previousStatus, true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Reservation reserveMatch(MentorshipMatch match, int maxMentees) {
+        ReentrantLock lock = lockFor(match.getMentorId());
+        lock.lock();
+        try {
+            if (activePairs.contains(pair(match.getMentorId(), match.getMenteeId()))) {
+                return Reservation.DUPLICATE;
+            }
+            MentorProfile mentor = mentors.get(match.getMentorId());
+            int current = mentor != null && mentor.getCurrentMentees() != null ? mentor.getCurrentMentees() : 0;
+            if (current >= maxMentees) {
+                return Reservation.AT_CAPACITY;
+            }
+            if (mentor != null) {
+                mentor.setCurrentMentees(current + 1);
+            }
+            saveMatch(match);
+            return Reservation.RESERVED;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    @Override
+    public List<MentorshipMatch> findMatchesByMentor(String mentorId) {
+        return resolveEntries(matchesByMentor.get(mentorId));
+    }
+
+    @Override
+    public List<MentorshipMatch> findMatchesByMentee(String menteeId) {
+        return resolveEntries(matchesByMentee.get(menteeId));
+    }
+
+    @Override
+    public boolean hasActiveMatch(String mentorId, String menteeId) {
+        return activePairs.contains(pair(mentorId, menteeId));
+    }
+
+    @Override
+    public List<MentorshipMatch> findMatchesByStatus(MentorshipMatchStatus status) {
+        return resolve(matchesByStatus.get(status));
+    }
+
+    @Override
+    public List<MentorshipMatch> findAllMatches() {
+        return new ArrayList<>(matches.values());
+    }
+
+    @Override
+    public long countMentors() {
+        return mentors.size();
+    }
+
+    @Override
+    public long countMentees() {
+        return mentees.size();
+    }
+
+    @Override
+    public long countMatches() {
+        return matches.size();
+    }
+
+    @Override
+    public long countMatchesByStatus(MentorshipMatchStatus status) {
+        return matchesByStatus.get(status).size();
+    }
+
+    @Override
+    public void incrementStatistics(Map<String, Long> deltas) {
+        deltas.forEach((name, delta) -> statistics.computeIfAbsent(name, k -> new LongAdder()).add(delta));
+    }
+
+    @Override
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> snapshot = new HashMap<>();
+        statistics.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        return snapshot;
+    }
+
+    private List<MentorshipMatch> resolveEntries(Collection<IndexEntry> entries) {
+        List<MentorshipMatch> result = new ArrayList<>();
+        if (entries != null) {
+            for (IndexEntry entry : entries) {
+                MentorshipMatch match = matches.get(entry.matchId());
+                if (match != null) {
+                    result.add(match);
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<MentorshipMatch> resolve(Collection<String> matchIds) {
+        List<MentorshipMatch> result = new ArrayList<>();
+        if (matchIds != null) {
+            for (String matchId : matchIds) {
+                MentorshipMatch match = matches.get(matchId);
+                if (match != null) {
+                    result.add(match);
+                }
+            }
+        }
+        return result;
+    }
+
+    // Caller holds the mentor's lock
+    private void releaseMentorSlot(String mentorId) {
+        MentorProfile mentor = mentors.get(mentorId);
+        if (mentor != null && mentor.getCurrentMentees() != null && mentor.getCurrentMentees() > 0) {
+            mentor.setCurrentMentees(mentor.getCurrentMentees() - 1);
+        }
+    }
+
+    private ReentrantLock lockFor(String id) {
+        return locks[Math.floorMod(id.hashCode(), locks.length)];
+    }
+
+    static void forEachHelpType(long helpMask, Consumer<HelpType> action) {
+        for (HelpType helpType : HelpType.values()) {
+            if ((helpMask & helpType.bit()) != 0L) {
+                action.accept(helpType);
+            }
+        }
+    }
+
+    static void checkNotReopened(String matchId, MentorshipMatchStatus previousStatus, MentorshipMatchStatus status) {
+        if (!MentorshipRepository.holdsMentorSlot(previousStatus) && MentorshipRepository.holdsMentorSlot(status)) {
+            throw new IllegalArgumentException("Match " + matchId + " has ended (" + previousStatus
+                    + ") and cannot become " + status + " again");
+        }
+    }
+
+    static String pair(String mentorId, String menteeId) {
+        return mentorId + "|" + menteeId;
+    }
+
+    static long matchedAtMillis(MentorshipMatch match) {
+        return match.getMatchedAt() != null ? match.getMatchedAt().toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+
+    private record IndexEntry(long matchedAtMillis, String matchId) {}
+
+    private record WaitingEntry(double score, String menteeId, long helpMask) {}
+
+    private record Cursor(WaitingEntry head, Iterator<WaitingEntry> rest) {}
+}
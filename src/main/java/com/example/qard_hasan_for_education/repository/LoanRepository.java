@@ -0,0 +1,26 @@
+package com.example.qard_hasan_for_education.repository;
+
+import com.example.qard_hasan_for_education.model.LoanAccount;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Storage for loan accounts, so portfolio views can be computed where the loans live instead of
+ * from a list the client posts. Lookups return null when nothing is stored under the id.
+ */
+public interface LoanRepository {
+
+    LoanAccount findLoan(String loanId);
+
+    void saveLoan(LoanAccount loan);
+
+    long countLoans();
+
+    /**
+     * Every stored loan, each exactly once, in pages of at most pageSize. Pages are read one at a time
+     * as the stream is consumed, so only the current page is held in memory; consume it sequentially.
+     * Close the stream when done.
+     */
+    Stream<List<LoanAccount>> streamLoanPages(int pageSize);
+}
@@ -0,0 +1,144 @@
+package com.example.qard_hasan_for_education.repository;
+
+import com.example.qard_hasan_for_education.model.MenteeProfile;
+import com.example.qard_hasan_for_education.model.MentorProfile;
+import com.example.qard_hasan_for_education.model.MentorshipMatch;
+import com.example.qard_hasan_for_education.model.MentorshipMatchStatus;
+import com.example.qard_hasan_for_education.support.MenteePriority;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Storage for mentors, mentees and their matches. Lookups return null when nothing is stored
+ * under the id. Objects returned may be shared with the store, so call save after changing one.
+ * Plain lookups may be served from a cache that lags behind other instances; anything read in order
+ * to be saved back comes from the ...ForUpdate lookups or, for matches, from updateMatch.
+ */
+public interface MentorshipRepository {
+
+    MentorProfile findMentor(String mentorId);
+
+    /**
+     * Same as findMentor, but always read from the store itself, never from a cache
+     */
+    MentorProfile findMentorForUpdate(String mentorId);
+
+    void saveMentor(MentorProfile mentor);
+
+    MenteeProfile findMentee(String menteeId);
+
+    /**
+     * Same as findMentee, but always read from the store itself, never from a cache
+     */
+    MenteeProfile findMenteeForUpdate(String menteeId);
+
+    /**
+     * Store the mentee and, while it needs a mentor, index it under each help type it needs
+     */
+    void saveMentee(MenteeProfile mentee);
+
+    /**
+     * Up to limit mentees that need a mentor and need at least one help type in helpMask (see HelpType.mask),
+     * in MenteePriority order, skipping excludedMenteeIds. Starts after the given position (null for the
+     * first page), so a page can be continued from its last mentee; fewer than limit only when no more are
+     * waiting. Reads only the help-type indexes of the
+     * requested types, and only as far as needed, so the cost does not grow with the number of waiting mentees.
+     */
+    List<MenteeProfile> findWaitingMentees(long helpMask, Set<String> excludedMenteeIds, WaitingPosition after, int limit);
+
+    MentorshipMatch findMatch(String matchId);
+
+    /**
+     * Store the match and keep the mentor, mentee, status and active-pair indexes in step with it.
+     * matchedAt orders the per-user indexes and must not change once the match is saved.
+     * Status changes of a stored match go through updateMatch, which also looks after the mentor's slot.
+     */
+    void saveMatch(MentorshipMatch match);
+
+    /**
+     * Compare-and-set of one match in a single atomic step: read it from the store itself (never a cache)
+     * and, only while its status is one of expectedStatuses, set newStatus (null keeps the status), apply
+     * the change and save it with its indexes. A match leaving ACTIVE/PAUSED for good gives its mentor's
+     * slot and its active pair back in the same step; an ended match cannot be reopened here, that takes
+     * a new reservation. When another write to the match gets in between, the update starts over on a fresh
+     * copy, so the change may run more than once and must depend on nothing but the match it is given.
+     */
+    MatchUpdate updateMatch(String matchId, Set<MentorshipMatchStatus> expectedStatuses,
+                            MentorshipMatchStatus newStatus, Consumer<MentorshipMatch> change);
+
+    /**
+     * A mentor's matches, most recently matched first
+     */
+    List<MentorshipMatch> findMatchesByMentor(String mentorId);
+
+    /**
+     * A mentee's matches, most recently matched first
+     */
+    List<MentorshipMatch> findMatchesByMentee(String menteeId);
+
+    /**
+     * Whether the pair currently has an ACTIVE or PAUSED match, answered from the active-pair index without loading matches
+     */
+    boolean hasActiveMatch(String mentorId, String menteeId);
+
+    /**
+     * In one atomic step: refuse if the pair already has an ACTIVE or PAUSED match or the mentor already has
+     * maxMentees mentees, otherwise take one of the mentor's slots and save the (ACTIVE) match.
+     * The mentor's currentMentees is only ever changed here and in updateMatch, when a match ends.
+     */
+    Reservation reserveMatch(MentorshipMatch match, int maxMentees);
+
+    List<MentorshipMatch> findMatchesByStatus(MentorshipMatchStatus status);
+
+    List<MentorshipMatch> findAllMatches();
+
+    long countMentors();
+
+    long countMentees();
+
+    long countMatches();
+
+    long countMatchesByStatus(MentorshipMatchStatus status);
+
+    /**
+     * Add the given deltas to named running counters, so statistics never need a scan over matches
+     */
+    void incrementStatistics(Map<String, Long> deltas);
+
+    /**
+     * Current value of every running counter; counters that were never incremented are absent
+     */
+    Map<String, Long> getStatistics();
+
+    /**
+     * A paused match keeps its mentor's slot and its pair, so resuming it needs neither a capacity
+     * nor a duplicate check
+     */
+    static boolean holdsMentorSlot(MentorshipMatchStatus status) {
+        return status == MentorshipMatchStatus.ACTIVE || status == MentorshipMatchStatus.PAUSED;
+    }
+
+    /**
+     * A mentee's place in the waiting order: MenteePriority.score descending, then mentee id descending
+     * (the order Redis uses for equal scores)
+     */
+    record WaitingPosition(double score, String menteeId) {
+
+        public static WaitingPosition of(MenteeProfile mentee) {
+            return new WaitingPosition(MenteePriority.score(mentee), mentee.getMenteeId());
+        }
+    }
+
+    /**
+     * Outcome of updateMatch: the match as saved, or as found when the update was not applied
+     * (null when there is no such match), and its status before the update
+     */
+    record MatchUpdate(MentorshipMatch match, MentorshipMatchStatus previousStatus, boolean applied) {}
+
+    enum Reservation {
+        RESERVED, DUPLICATE, AT_CAPACITY
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.qard_hasan_for_education.repository;
+
+import com.example.qard_hasan_for_education.model.LoanAccount;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Shared store so every instance sees the same loans and nothing is lost on restart.
+ *
+ * Layout under the key prefix (default "loan:"):
+ * accounts - one hash, loan id to the loan as JSON;
+ * ids - every loan id in a sorted set with score 0, so it is ordered by id.
+ *
+ * streamLoanPages walks the ids in order, each page starting after the last id of the previous one
+ * and fetched with its loans in one script call. Pages have exactly pageSize loans (except the last),
+ * every loan is returned once even while others are being added, and only one page is in memory.
+ * Loans stored before the ids set existed are added to it by indexExistingLoans, run at startup.
+ */
+public class RedisLoanRepository implements LoanRepository {
+
+    // KEYS: ids sorted set, accounts hash. ARGV: page size, then the last id of the previous page (absent for the first).
+    // Returns id, loan, id, loan, ... for the next page; a loan missing from the hash comes back as nil.
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> PAGE_SCRIPT = new DefaultRedisScript<>("""
+            local min = ARGV[2] and ('(' .. ARGV[2]) or '-'
+            local ids = redis.call('ZRANGEBYLEX', KEYS[1], min, '+', 'LIMIT', 0, tonumber(ARGV[1]))
+            local page = {}
+            for i, id in ipairs(ids) do
+                page[2 * i - 1] = id
+                -- Set members are JSON strings (the template's value serializer); hash fields are plain
+                page[2 * i] = redis.call('HGET', KEYS[2], cjson.decode(id))
+            end
+            return page
+            """, List.class);
+
+    private static final int INDEX_BATCH = 1000;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String accountsKey;
+    private final String idsKey;
+
+    public RedisLoanRepository(RedisTemplate<String, Object> redisTemplate, ObjectMapper objectMapper, String keyPrefix) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.accountsKey = keyPrefix + "accounts";
+        this.idsKey = keyPrefix + "ids";
+    }
+
+    /**
+     * Add every loan in the accounts hash that is missing from the ids set, in batches; returns how many.
+     * Only scans when the two sizes differ, so it is cheap once the index is complete.
+     */
+    public long indexExistingLoans() {
+        Long loans = redisTemplate.opsForHash().size(accountsKey);
+        if (loans == null || loans <= countLoans()) {
+            return 0L;
+        }
+        long added = 0L;
+        Set<ZSetOperations.TypedTuple<Object>> batch = new HashSet<>();
+        try (Cursor<Map.Entry<Object, Object>> cursor = redisTemplate.opsForHash()
+                .scan(accountsKey, ScanOptions.scanOptions().count(INDEX_BATCH).build())) {
+            while (cursor.hasNext()) {
+                batch.add(ZSetOperations.TypedTuple.of(cursor.next().getKey(), 0.0));
+                if (batch.size() == INDEX_BATCH || !cursor.hasNext()) {
+                    Long count = redisTemplate.opsForZSet().add(idsKey, batch);
+                    added += count != null ? count : 0L;
+                    batch.clear();
+                }
+            }
+        }
+        return added;
+    }
+
+    @Override
+    public LoanAccount findLoan(String loanId) {
+        return toLoan(redisTemplate.opsForHash().get(accountsKey, loanId));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void saveLoan(LoanAccount loan) {
+        redisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.multi();
+                ops.opsForHash().put(accountsKey, loan.getLoanId(), loan);
+                ops.opsForZSet().add(idsKey, loan.getLoanId(), 0);
+                return ops.exec();
+            }
+        });
+    }
+
+    @Override
+    public long countLoans() {
+        Long size = redisTemplate.opsForZSet().zCard(idsKey);
+        return size != null ? size : 0L;
+    }
+
+    @Override
+    public Stream<List<LoanAccount>> streamLoanPages(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        Iterator<List<LoanAccount>> pages = new Iterator<>() {
+            private String lastId;
+            private boolean exhausted;
+            private List<LoanAccount> next = fetch();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public List<LoanAccount> next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                List<LoanAccount> page = next;
+                next = fetch();
+                return page;
+            }
+
+            private List<LoanAccount> fetch() {
+                if (exhausted) {
+                    return null;
+                }
+                List<?> reply = lastId == null
+                        ? redisTemplate.execute(PAGE_SCRIPT, List.of(idsKey, accountsKey), pageSize)
+                        : redisTemplate.execute(PAGE_SCRIPT, List.of(idsKey, accountsKey), pageSize, lastId);
+                int ids = reply != null ? reply.size() / 2 : 0;
+                // A short page is the last one
+                exhausted = ids < pageSize;
+                if (ids == 0) {
+                    return null;
+                }
+                List<LoanAccount> page = new ArrayList<>(ids);
+                for (int i = 0; i < reply.size(); i += 2) {
+                    lastId = (String) reply.get(i);
+                    LoanAccount loan = toLoan(reply.get(i + 1));
+                    if (loan != null) {
+                        page.add(loan);
+                    }
+                }
+                return page;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private LoanAccount toLoan(Object value) {
+        return value != null ? objectMapper.convertValue(value, LoanAccount.class) : null;
+    }
+}
@@ -0,0 +1,606 @@
+package com.example.qard_hasan_for_education.repository;
+
+import com.example.qard_hasan_for_education.model.HelpType;
+import com.example.qard_hasan_for_education.model.MenteeProfile;
+import com.example.qard_hasan_for_education.model.MentorProfile;
+import com.example.qard_hasan_for_education.model.MentorshipMatch;
+import com.example.qard_hasan_for_education.model.MentorshipMatchStatus;
+import com.example.qard_hasan_for_education.support.LruTtlCache;
+import com.example.qard_hasan_for_education.support.MenteePriority;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Shared store so every instance sees the same mentorship state and nothing is lost on restart.
+ *
+ * Layout under the key prefix (default "mentorship:"):
+ * mentor:{id}, mentee:{id}, match:{id} - one hash per entity, one field per property;
+ * mentors, mentees, matches - id sets used for counting;
+ * matches:by-mentor:{mentorId}, matches:by-mentee:{menteeId} - sorted sets of match ids scored by matchedAt;
+ * matches:status:{STATUS} - match ids per status;
+ * matches:active-pairs - "mentorId|menteeId" for every pair with an ACTIVE or PAUSED match;
+ * mentees:waiting:{HELP_TYPE} - sorted sets of mentees needing a mentor, scored by MenteePriority.score;
+ * statistics - running counters, one HINCRBY per change.
+ *
+ * An entity and its index entries are written in one MULTI/EXEC, then into a small write-through
+ * near cache. Reads are served from the near cache when possible; index lookups fetch the missing
+ * entities with one pipelined round trip. Entries written by other instances become visible here
+ * once the near cache entry expires, so keep its TTL short. Reads that lead to a write never use it:
+ * the ...ForUpdate lookups go to Redis, and updateMatch reads the match under WATCH and writes it back
+ * in a MULTI/EXEC that Redis discards if the match changed in between, then retries.
+ *
+ * A mentor's currentMentees field is owned by the reserve/release scripts and updateMatch: saveMentor never writes it,
+ * so a stale mentor object saved by one instance cannot undo a reservation made by another.
+ */
+public class RedisMentorshipRepository implements MentorshipRepository {
+
+    private static final TypeReference<Map<String, Object>> FIELDS = new TypeReference<>() {};
+    private static final String CURRENT_MENTEES = "currentMentees";
+    // Each retry means another write to the same match went through, so running out takes heavy contention
+    private static final int MAX_UPDATE_ATTEMPTS = 10;
+
+    // KEYS: active-pairs set, mentor hash. ARGV: pair, max mentees.
+    // Returns -1 for an existing active pair, -2 when the mentor is full, otherwise the mentor's new load.
+    private static final RedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then return -1 end
+            local current = tonumber(redis.call('HGET', KEYS[2], 'currentMentees')) or 0
+            if current >= tonumber(ARGV[2]) then return -2 end
+            redis.call('SADD', KEYS[1], ARGV[1])
+            return redis.call('HINCRBY', KEYS[2], 'currentMentees', 1)
+            """, Long.class);
+
+    // KEYS: mentor hash. Never goes below zero.
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            local current = tonumber(redis.call('HGET', KEYS[1], 'currentMentees')) or 0
+            if current <= 0 then return 0 end
+            return redis.call('HINCRBY', KEYS[1], 'currentMentees', -1)
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String keyPrefix;
+    private final LruTtlCache<String, Object> nearCache;
+
+    public RedisMentorshipRepository(RedisTemplate<String, Object> redisTemplate, ObjectMapper objectMapper,
+                                     String keyPrefix, int nearCacheEntries, Duration nearCacheTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.keyPrefix = keyPrefix;
+        this.nearCache = new LruTtlCache<>(nearCacheEntries, nearCacheTtl);
+    }
+
+    @Override
+    public MentorProfile findMentor(String mentorId) {
+        return find(mentorKey(mentorId), MentorProfile.class);
+    }
+
+    @Override
+    public MentorProfile findMentorForUpdate(String mentorId) {
+        return findFresh(mentorKey(mentorId), MentorProfile.class);
+    }
+
+    @Override
+    public void saveMentor(MentorProfile mentor) {
+        String mentorId = mentor.getMentorId();
+        Map<String, Object> fields = fields(mentor);
+        fields.remove(CURRENT_MENTEES);
+        write(mentorKey(mentorId), mentor, fields, ops -> ops.opsForSet().add(keyPrefix + "mentors", mentorId));
+    }
+
+    @Override
+    public MenteeProfile findMentee(String menteeId) {
+        return find(menteeKey(menteeId), MenteeProfile.class);
+    }
+
+    @Override
+    public MenteeProfile findMenteeForUpdate(String menteeId) {
+        return findFresh(menteeKey(menteeId), MenteeProfile.class);
+    }
+
+    @Override
+    public void saveMentee(MenteeProfile mentee) {
+        String menteeId = mentee.getMenteeId();
+        long helpMask = mentee.isNeedsMentor() ? HelpType.mask(mentee.getNeededHelpTypes()) : 0L;
+        double score = MenteePriority.score(mentee);
+        write(menteeKey(menteeId), mentee, fields(mentee), ops -> {
+            ops.opsForSet().add(keyPrefix + "mentees", menteeId);
+            // The previous help types are not known here; there are few types, so touch every index
+            for (HelpType helpType : HelpType.values()) {
+                if ((helpMask & helpType.bit()) != 0L) {
+                    ops.opsForZSet().add(waitingKey(helpType), menteeId, score);
+                } else {
+                    ops.opsForZSet().remove(waitingKey(helpType), menteeId);
+                }
+            }
+        });
+    }
+
+    @Override
+    public List<MenteeProfile> findWaitingMentees(long helpMask, Set<String> excludedMenteeIds,
+                                                  WaitingPosition after, int limit) {
+        List<HelpType> helpTypes = new ArrayList<>();
+        InMemoryMentorshipRepository.forEachHelpType(helpMask, helpTypes::add);
+        if (helpTypes.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        // Index entries can outlive their mentee, or a mentee that no longer needs one: keep reading past them
+        // until the page is full or the indexes run out, so a short page always means there are no more
+        List<MenteeProfile> result = new ArrayList<>();
+        WaitingPosition position = after;
+        while (result.size() < limit) {
+            int wanted = limit - result.size();
+            List<ZSetOperations.TypedTuple<Object>> candidates =
+                    waitingCandidates(helpTypes, excludedMenteeIds, position, wanted);
+            List<String> menteeIds = candidates.stream().map(candidate -> String.valueOf(candidate.getValue())).toList();
+            for (MenteeProfile mentee : resolve(menteeIds, this::menteeKey, MenteeProfile.class)) {
+                if (mentee.isNeedsMentor()) {
+                    result.add(mentee);
+                }
+            }
+            if (candidates.size() < wanted) {
+                break;
+            }
+            ZSetOperations.TypedTuple<Object> last = candidates.get(candidates.size() - 1);
+            position = new WaitingPosition(last.getScore(), String.valueOf(last.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Up to limit distinct index entries across the given help types, in MenteePriority order after the position
+     */
+    @SuppressWarnings("unchecked")
+    private List<ZSetOperations.TypedTuple<Object>> waitingCandidates(List<HelpType> helpTypes,
+                                                                     Set<String> excludedMenteeIds,
+                                                                     WaitingPosition after, int limit) {
+        // The head of each index is enough: excluded ids and duplicates across types are the only skips.
+        // When continuing a page, mentees sharing the last score may sit before the position, so fetch past them too.
+        long depth = (long) limit + excludedMenteeIds.size();
+        List<Object> ties = after == null ? null : redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                for (HelpType helpType : helpTypes) {
+                    ops.opsForZSet().count(waitingKey(helpType), after.score(), after.score());
+                }
+                return null;
+            }
+        });
+        List<Object> heads = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                for (int t = 0; t < helpTypes.size(); t++) {
+                    String key = waitingKey(helpTypes.get(t));
+                    if (after == null) {
+                        ops.opsForZSet().reverseRangeWithScores(key, 0, depth - 1);
+                    } else {
+                        long tied = ties.get(t) instanceof Number number ? number.longValue() : 0L;
+                        ops.opsForZSet().reverseRangeByScoreWithScores(key, Double.NEGATIVE_INFINITY, after.score(),
+                                0, depth + tied);
+                    }
+                }
+                return null;
+            }
+        });
+
+        List<ZSetOperations.TypedTuple<Object>> candidates = new ArrayList<>();
+        for (Object head : heads) {
+            if (head instanceof Collection<?> tuples) {
+                candidates.addAll((Collection<ZSetOperations.TypedTuple<Object>>) tuples);
+            }
+        }
+        candidates.sort(Comparator.comparing((ZSetOperations.TypedTuple<Object> tuple) -> tuple.getScore(),
+                        Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(tuple -> String.valueOf(tuple.getValue()), Comparator.reverseOrder()));
+
+        Set<String> menteeIds = new HashSet<>();
+        List<ZSetOperations.TypedTuple<Object>> picked = new ArrayList<>();
+        for (ZSetOperations.TypedTuple<Object> candidate : candidates) {
+            String menteeId = String.valueOf(candidate.getValue());
+            if (after != null && candidate.getScore() != null && candidate.getScore() == after.score()
+                    && menteeId.compareTo(after.menteeId()) >= 0) {
+                continue;
+            }
+            if (!excludedMenteeIds.contains(menteeId) && menteeIds.add(menteeId)) {
+                picked.add(candidate);
+                if (picked.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return picked;
+    }
+
+    @Override
+    public MentorshipMatch findMatch(String matchId) {
+        return find(matchKey(matchId), MentorshipMatch.class);
+    }
+
+    @Override
+    public void saveMatch(MentorshipMatch match) {
+        write(matchKey(match.getMatchId()), match, fields(match), ops -> indexMatch(ops, match));
+    }
+
+    @Override
+    public MatchUpdate updateMatch(String matchId, Set<MentorshipMatchStatus> expectedStatuses,
+                                   MentorshipMatchStatus newStatus, Consumer<MentorshipMatch> change) {
+        String key = matchKey(matchId);
+        for (int attempt = 1; attempt <= MAX_UPDATE_ATTEMPTS; attempt++) {
+            MatchUpdate update = redisTemplate.execute(new SessionCallback<MatchUpdate>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> MatchUpdate execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    ops.watch(key);
+                    MentorshipMatch match = fromHash(ops.opsForHash().entries(key), MentorshipMatch.class);
+                    MentorshipMatchStatus previousStatus = match != null ? match.getStatus() : null;
+                    if (previousStatus == null || !expectedStatuses.contains(previousStatus)) {
+                        ops.unwatch();
+                        return new MatchUpdate(match, previousStatus, false);
+                    }
+
+                    MentorshipMatchStatus status = newStatus != null ? newStatus : previousStatus;
+                    if (!MentorshipRepository.holdsMentorSlot(previousStatus)
+                            && MentorshipRepository.holdsMentorSlot(status)) {
+                        ops.unwatch();
+                        InMemoryMentorshipRepository.checkNotReopened(matchId, previousStatus, status);
+                    }
+
+                    match.setStatus(status);
+                    change.accept(match);
+                    // Ending the match gives the slot back; a reservation for this mentor meanwhile starts us over
+                    String mentorKey = mentorKey(match.getMentorId());
+                    boolean releasesSlot = MentorshipRepository.holdsMentorSlot(previousStatus)
+                            && !MentorshipRepository.holdsMentorSlot(status);
+                    long load = 0;
+                    if (releasesSlot) {
+                        ops.watch(mentorKey);
+                        load = ops.opsForHash().get(mentorKey, CURRENT_MENTEES) instanceof Number number
+                                ? number.longValue() : 0;
+                    }
+
+                    ops.multi();
+                    putFields(ops, key, fields(match));
+                    indexMatch(ops, match);
+                    if (load > 0) {
+                        ops.opsForHash().increment(mentorKey, CURRENT_MENTEES, -1);
+                    }
+                    // Discarded, and so empty, when the match or the mentor was written after the WATCH
+                    if (ops.exec().isEmpty()) {
+                        return null;
+                    }
+                    if (releasesSlot) {
+                        nearCache.invalidate(mentorKey);
+                    }
+                    return new MatchUpdate(match, previousStatus, true);
+                }
+            });
+            if (update != null) {
+                if (update.match() != null) {
+                    nearCache.put(key, update.match());
+                }
+                return update;
+            }
+        }
+        throw new IllegalStateException("Match " + matchId + " kept changing, gave up after "
+                + MAX_UPDATE_ATTEMPTS + " attempts");
+    }
+
+    @Override
+    public List<MentorshipMatch> findMatchesByMentor(String mentorId) {
+        return resolveMatches(redisTemplate.opsForZSet().reverseRange(mentorIndexKey(mentorId), 0, -1));
+    }
+
+    @Override
+    public List<MentorshipMatch> findMatchesByMentee(String menteeId) {
+        return resolveMatches(redisTemplate.opsForZSet().reverseRange(menteeIndexKey(menteeId), 0, -1));
+    }
+
+    @Override
+    public boolean hasActiveMatch(String mentorId, String menteeId) {
+        return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(keyPrefix + "matches:active-pairs",
+                InMemoryMentorshipRepository.pair(mentorId, menteeId)));
+    }
+
+    @Override
+    public Reservation reserveMatch(MentorshipMatch match, int maxMentees) {
+        String mentorKey = mentorKey(match.getMentorId());
+        String pair = InMemoryMentorshipRepository.pair(match.getMentorId(), match.getMenteeId());
+        Long result = redisTemplate.execute(RESERVE_SCRIPT,
+                List.of(keyPrefix + "matches:active-pairs", mentorKey), pair, maxMentees);
+        // The cached mentor still carries the old load
+        nearCache.invalidate(mentorKey);
+
+        if (result == null || result == -2) {
+            return Reservation.AT_CAPACITY;
+        }
+        if (result == -1) {
+            return Reservation.DUPLICATE;
+        }
+
+        try {
+            saveMatch(match);
+        } catch (RuntimeException e) {
+            // Give the slot and the pair back, otherwise they stay taken by a match that was never stored
+            redisTemplate.opsForSet().remove(keyPrefix + "matches:active-pairs", pair);
+            releaseMentorSlot(match.getMentorId());
+            throw e;
+        }
+        return Reservation.RESERVED;
+    }
+
+    @Override
+    public List<MentorshipMatch> findMatchesByStatus(MentorshipMatchStatus status) {
+        return resolveMatches(redisTemplate.opsForSet().members(statusKey(status)));
+    }
+
+    @Override
+    public List<MentorshipMatch> findAllMatches() {
+        return resolveMatches(redisTemplate.opsForSet().members(keyPrefix + "matches"));
+    }
+
+    @Override
+    public long countMentors() {
+        return size(keyPrefix + "mentors");
+    }
+
+    @Override
+    public long countMentees() {
+        return size(keyPrefix + "mentees");
+    }
+
+    @Override
+    public long countMatches() {
+        return size(keyPrefix + "matches");
+    }
+
+    @Override
+    public long countMatchesByStatus(MentorshipMatchStatus status) {
+        return size(statusKey(status));
+    }
+
+    @Override
+    public void incrementStatistics(Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // One round trip for all counters of a transition
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                @SuppressWarnings("unchecked")
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                deltas.forEach((name, delta) -> ops.opsForHash().increment(keyPrefix + "statistics", name, delta));
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> statistics = new HashMap<>();
+        redisTemplate.opsForHash().entries(keyPrefix + "statistics").forEach((name, value) -> {
+            if (value instanceof Number number) {
+                statistics.put(String.valueOf(name), number.longValue());
+            }
+        });
+        return statistics;
+    }
+
+    private void releaseMentorSlot(String mentorId) {
+        String mentorKey = mentorKey(mentorId);
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(mentorKey));
+        nearCache.invalidate(mentorKey);
+    }
+
+    private <T> T find(String key, Class<T> type) {
+        Object cached = nearCache.get(key);
+        if (type.isInstance(cached)) {
+            return type.cast(cached);
+        }
+        return findFresh(key, type);
+    }
+
+    private <T> T findFresh(String key, Class<T> type) {
+        T entity = fromHash(redisTemplate.opsForHash().entries(key), type);
+        if (entity != null) {
+            nearCache.put(key, entity);
+        }
+        return entity;
+    }
+
+    private List<MentorshipMatch> resolveMatches(Collection<Object> matchIds) {
+        return resolve(matchIds, this::matchKey, MentorshipMatch.class);
+    }
+
+    /**
+     * Resolve ids in their given order: near cache first, then one pipelined HGETALL for all the misses.
+     */
+    private <T> List<T> resolve(Collection<?> ids, Function<String, String> keyOf, Class<T> type) {
+        if (ids == null || ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<T> slots = new ArrayList<>(ids.size());
+        List<Integer> missingSlots = new ArrayList<>();
+        List<String> missingKeys = new ArrayList<>();
+        int i = 0;
+        for (Object id : ids) {
+            String key = keyOf.apply(String.valueOf(id));
+            Object cached = nearCache.get(key);
+            if (type.isInstance(cached)) {
+                slots.add(type.cast(cached));
+            } else {
+                slots.add(null);
+                missingSlots.add(i);
+                missingKeys.add(key);
+            }
+            i++;
+        }
+
+        if (!missingKeys.isEmpty()) {
+            List<Object> hashes = pipelinedEntries(missingKeys);
+            for (int m = 0; m < missingKeys.size(); m++) {
+                T entity = fromHash(hashes.get(m), type);
+                if (entity != null) {
+                    nearCache.put(missingKeys.get(m), entity);
+                    slots.set(missingSlots.get(m), entity);
+                }
+            }
+        }
+
+        List<T> result = new ArrayList<>(slots.size());
+        for (T entity : slots) {
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> pipelinedEntries(Collection<String> keys) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                for (String key : keys) {
+                    ops.opsForHash().entries(key);
+                }
+                return null;
+            }
+        });
+    }
+
+    private Map<String, Object> fields(Object entity) {
+        return objectMapper.convertValue(entity, FIELDS);
+    }
+
+    /**
+     * Write the given fields of the entity hash and apply its index updates atomically, then refresh the near cache.
+     */
+    @SuppressWarnings("unchecked")
+    private void write(String key, Object entity, Map<String, Object> fields,
+                       Consumer<RedisOperations<String, Object>> indexUpdates) {
+        redisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.multi();
+                putFields(ops, key, fields);
+                indexUpdates.accept(ops);
+                return ops.exec();
+            }
+        });
+        nearCache.put(key, entity);
+    }
+
+    /**
+     * Queue the writes of the given fields of an entity hash. Fields not in the map are left alone,
+     * so fields owned by a script survive the write.
+     */
+    private static void putFields(RedisOperations<String, Object> ops, String key, Map<String, Object> fields) {
+        // Redis hashes cannot hold nulls; a removed field reads back as null
+        List<Object> cleared = new ArrayList<>();
+        Map<String, Object> values = new HashMap<>();
+        fields.forEach((name, value) -> {
+            if (value == null) {
+                cleared.add(name);
+            } else {
+                values.put(name, value);
+            }
+        });
+        if (!cleared.isEmpty()) {
+            ops.opsForHash().delete(key, cleared.toArray());
+        }
+        if (!values.isEmpty()) {
+            ops.opsForHash().putAll(key, values);
+        }
+    }
+
+    /**
+     * Queue the index entries of a match: the id set, both per-user indexes, the active pair and its status set
+     */
+    private void indexMatch(RedisOperations<String, Object> ops, MentorshipMatch match) {
+        String matchId = match.getMatchId();
+        ops.opsForSet().add(keyPrefix + "matches", matchId);
+        double score = InMemoryMentorshipRepository.matchedAtMillis(match);
+        ops.opsForZSet().add(mentorIndexKey(match.getMentorId()), matchId, score);
+        ops.opsForZSet().add(menteeIndexKey(match.getMenteeId()), matchId, score);
+        String pair = InMemoryMentorshipRepository.pair(match.getMentorId(), match.getMenteeId());
+        if (MentorshipRepository.holdsMentorSlot(match.getStatus())) {
+            ops.opsForSet().add(keyPrefix + "matches:active-pairs", pair);
+        } else {
+            ops.opsForSet().remove(keyPrefix + "matches:active-pairs", pair);
+        }
+        // The previous status is not known here; dropping the id from every other status set is cheap
+        for (MentorshipMatchStatus status : MentorshipMatchStatus.values()) {
+            if (status == match.getStatus()) {
+                ops.opsForSet().add(statusKey(status), matchId);
+            } else {
+                ops.opsForSet().remove(statusKey(status), matchId);
+            }
+        }
+    }
+
+    private <T> T fromHash(Object hash, Class<T> type) {
+        if (!(hash instanceof Map<?, ?> fields) || fields.isEmpty()) {
+            return null;
+        }
+        return objectMapper.convertValue(fields, type);
+    }
+
+    private long size(String setKey) {
+        Long size = redisTemplate.opsForSet().size(setKey);
+        return size != null ? size : 0;
+    }
+
+    private String mentorKey(String mentorId) {
+        return keyPrefix + "mentor:" + mentorId;
+    }
+
+    private String menteeKey(String menteeId) {
+        return keyPrefix + "mentee:" + menteeId;
+    }
+
+    private String matchKey(String matchId) {
+        return keyPrefix + "match:" + matchId;
+    }
+
+    private String mentorIndexKey(String mentorId) {
+        return keyPrefix + "matches:by-mentor:" + mentorId;
+    }
+
+    private String menteeIndexKey(String menteeId) {
+        return keyPrefix + "matches:by-mentee:" + menteeId;
+    }
+
+    private String waitingKey(HelpType helpType) {
+        return keyPrefix + "mentees:waiting:" + helpType.name();
+    }
+
+    private String statusKey(MentorshipMatchStatus status) {
+        return keyPrefix + "matches:status:" + status.name();
+    }
+}
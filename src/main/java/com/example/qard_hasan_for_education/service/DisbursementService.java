@@ -2,6 +2,9 @@ package com.example.qard_hasan_for_education.service;
 
 import com.example.qard_hasan_for_education.model.*;
 import com.example.qard_hasan_for_education.model.individual.SimpleBankInfo;
+import com.example.qard_hasan_for_education.money.Money;
+import com.example.qard_hasan_for_education.money.MoneyMath;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +23,9 @@ public class DisbursementService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     /**
      * Calculate disbursement transaction data - STATELESS
      */
@@ -58,6 +64,7 @@ public class DisbursementService {
 
         logger.info("Disbursement calculation completed: {} for loan: {}, amount: {}",
                 disbursement.getDisbursementId(), loanId, disbursement.getAmount());
+        recordTransition(null, disbursement);
 
         return new DisbursementCalculationResult(disbursement, notification);
     }
@@ -90,6 +97,7 @@ public class DisbursementService {
         );
 
         logger.info("Disbursement processing calculation completed: {}", disbursementId);
+        recordTransition(currentDisbursement.getStatus(), updatedDisbursement);
 
         return new DisbursementProcessingResult(updatedDisbursement, notification);
     }
@@ -118,6 +126,7 @@ public class DisbursementService {
 
         logger.info("Disbursement completion calculation: {}, amount: {} calculated",
                 disbursementId, completedDisbursement.getNetAmount());
+        recordTransition(currentDisbursement.getStatus(), completedDisbursement);
 
         return new DisbursementCompletionResult(completedDisbursement, notification);
     }
@@ -146,9 +155,20 @@ public class DisbursementService {
                 reason
         );
 
+        recordTransition(currentDisbursement.getStatus(), failedDisbursement);
         return new DisbursementFailureResult(failedDisbursement, notification);
     }
 
+    /**
+     * Count a disbursement state change; "from" is "NEW" for a freshly initiated disbursement
+     */
+    private void recordTransition(DisbursementStatus from, DisbursementTransaction disbursement) {
+        meterRegistry.counter("disbursement.transitions",
+                "from", from != null ? from.name() : "NEW",
+                "to", String.valueOf(disbursement.getStatus()),
+                "method", String.valueOf(disbursement.getDisbursementMethod())).increment();
+    }
+
     /**
      * Calculate auto-disbursement initiation - STATELESS
      */
@@ -189,16 +209,18 @@ public class DisbursementService {
         stats.put("failedDisbursements", failed);
         stats.put("pendingDisbursements", pending);
 
-        BigDecimal totalAmount = allDisbursements.stream()
-                .map(DisbursementTransaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        stats.put("totalDisbursedAmount", totalAmount);
-
-        BigDecimal completedAmount = allDisbursements.stream()
-                .filter(DisbursementTransaction::isCompleted)
-                .map(DisbursementTransaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        stats.put("completedDisbursedAmount", completedAmount);
+        // Summed in cents: one pass, no intermediate BigDecimals
+        long totalAmount = 0L;
+        long completedAmount = 0L;
+        for (DisbursementTransaction disbursement : allDisbursements) {
+            long amount = Money.toMinor(disbursement.getAmount());
+            totalAmount = MoneyMath.add(totalAmount, amount);
+            if (disbursement.isCompleted()) {
+                completedAmount = MoneyMath.add(completedAmount, amount);
+            }
+        }
+        stats.put("totalDisbursedAmount", Money.toDecimal(totalAmount));
+        stats.put("completedDisbursedAmount", Money.toDecimal(completedAmount));
 
         return stats;
     }
@@ -330,18 +352,7 @@ public class DisbursementService {
     }
 
     private BigDecimal calculateEstimatedFees(DisbursementMethod method, BigDecimal amount) {
-        switch (method) {
-            case BANK_TRANSFER:
-                return amount.multiply(new BigDecimal("0.01")); // 1%
-            case WIRE_TRANSFER:
-                return new BigDecimal("25.00"); // $25 fixed
-            case DIGITAL_WALLET:
-                return amount.multiply(new BigDecimal("0.005")); // 0.5%
-            case CHECK:
-                return new BigDecimal("10.00"); // $10 fixed
-            default:
-                return BigDecimal.ZERO;
-        }
+        return method.fee(Money.of(amount)).toBigDecimal();
     }
 
     private int getEstimatedDeliveryDays(DisbursementMethod method) {
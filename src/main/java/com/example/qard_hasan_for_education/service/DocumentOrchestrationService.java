@@ -6,15 +6,29 @@ import com.example.qard_hasan_for_education.model.individual.ScholarshipAcceptan
 import com.example.qard_hasan_for_education.model.individual.SimpleBankInfo;
 import com.example.qard_hasan_for_education.model.individual.UniversityAcceptance;
 import com.example.qard_hasan_for_education.model.riskAnalysis.ApplicationRiskProfile;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class DocumentOrchestrationService {
@@ -26,6 +40,27 @@ public class DocumentOrchestrationService {
     @Autowired
     private RiskAssessmentService riskAssessmentService;
 
+    @Autowired
+    @Qualifier("applicationIntakeExecutor")
+    private ExecutorService intakeExecutor;
+
+    @Autowired
+    @Qualifier("documentProcessingExecutor")
+    private ExecutorService documentExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Value("${document.processing.intake.retention-minutes:60}")
+    private long retentionMinutes;
+
+    // Applications submitted through the asynchronous endpoint, kept for status polling
+    private final Map<String, StudentApplicationData> submittedApplications = new ConcurrentHashMap<>();
+    private final AtomicLong lastPurgeNanos = new AtomicLong(System.nanoTime());
+
     public StudentApplicationData processCompleteApplication(
             String studentId,
             MultipartFile bankStatement,
@@ -38,30 +73,120 @@ public class DocumentOrchestrationService {
                 studentId, applicationId);
 
         StudentApplicationData application = new StudentApplicationData(applicationId, studentId);
+        processApplication(application, bankStatement, universityLetter, scholarshipLetter, passportImage);
+        return application;
+    }
+
+    /**
+     * Queue an application for background processing and return immediately.
+     * The returned application is in DOCUMENTS_RECEIVED status; poll getSubmittedApplication for progress.
+     */
+    public StudentApplicationData submitApplication(
+            String studentId,
+            MultipartFile bankStatement,
+            MultipartFile universityLetter,
+            MultipartFile scholarshipLetter,
+            MultipartFile passportImage) throws Exception {
+
+        purgeExpiredApplications();
+
+        String applicationId = generateApplicationId();
+        StudentApplicationData application = new StudentApplicationData(applicationId, studentId);
+
+        // Upload parts are deleted when the request ends, so keep our own copies until processing is done
+        List<StoredMultipartFile> storedFiles = new ArrayList<>();
+        try {
+            StoredMultipartFile bank = store(bankStatement, storedFiles);
+            StoredMultipartFile university = store(universityLetter, storedFiles);
+            StoredMultipartFile scholarship = store(scholarshipLetter, storedFiles);
+            StoredMultipartFile passport = store(passportImage, storedFiles);
+
+            submittedApplications.put(applicationId, application);
+            intakeExecutor.execute(() -> {
+                try {
+                    processApplication(application, bank, university, scholarship, passport);
+                } catch (Exception e) {
+                    // Already logged and recorded on the application by processApplication
+                } finally {
+                    storedFiles.forEach(StoredMultipartFile::delete);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            submittedApplications.remove(applicationId);
+            storedFiles.forEach(StoredMultipartFile::delete);
+            logger.warn("Application intake queue is full, rejecting application for student: {}", studentId);
+            throw new ApplicationQueueFullException("Application intake queue is full, please retry shortly");
+        } catch (Exception e) {
+            submittedApplications.remove(applicationId);
+            storedFiles.forEach(StoredMultipartFile::delete);
+            throw e;
+        }
+
+        logger.info("Application queued for student: {}, applicationId: {}", studentId, applicationId);
+        return application;
+    }
+
+    /**
+     * Look up an application submitted through submitApplication, or null if unknown or expired
+     */
+    public StudentApplicationData getSubmittedApplication(String applicationId) {
+        return submittedApplications.get(applicationId);
+    }
+
+    private StoredMultipartFile store(MultipartFile file, List<StoredMultipartFile> storedFiles) throws Exception {
+        StoredMultipartFile stored = StoredMultipartFile.copyOf(file);
+        storedFiles.add(stored);
+        return stored;
+    }
+
+    private void purgeExpiredApplications() {
+        long now = System.nanoTime();
+        long last = lastPurgeNanos.get();
+        // At most one sweep per minute
+        if (now - last < TimeUnit.MINUTES.toNanos(1) || !lastPurgeNanos.compareAndSet(last, now)) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        submittedApplications.values().removeIf(application ->
+                application.getStatus().isCompleted()
+                        && application.getProcessingEndTime() != null
+                        && application.getProcessingEndTime().isBefore(cutoff));
+    }
+
+    private void processApplication(
+            StudentApplicationData application,
+            MultipartFile bankStatement,
+            MultipartFile universityLetter,
+            MultipartFile scholarshipLetter,
+            MultipartFile passportImage) throws Exception {
+
+        String applicationId = application.getApplicationId();
         application.setProcessingStartTime(LocalDateTime.now());
         application.setStatus(ApplicationStatus.PROCESSING_DOCUMENTS);
 
+        Timer.Sample processingSample = Timer.start(meterRegistry);
         try {
-            // Process all documents concurrently
+            // Process all documents concurrently on the dedicated document executor
             logger.info("Processing documents concurrently for application: {}", applicationId);
 
-            long startTime = System.currentTimeMillis();
+            Timer.Sample documentsSample = Timer.start(meterRegistry);
 
             CompletableFuture<SimpleBankInfo> bankFuture =
                     CompletableFuture.supplyAsync(() -> processDocumentSafely(() ->
-                            documentProcessor.processBankDocument(bankStatement), "Bank Statement"));
+                            documentProcessor.processBankDocument(bankStatement), "Bank Statement", bankStatement), documentExecutor);
 
             CompletableFuture<UniversityAcceptance> universityFuture =
                     CompletableFuture.supplyAsync(() -> processDocumentSafely(() ->
-                            documentProcessor.processUniversityLetter(universityLetter), "University Letter"));
+                            documentProcessor.processUniversityLetter(universityLetter), "University Letter", universityLetter), documentExecutor);
 
             CompletableFuture<ScholarshipAcceptance> scholarshipFuture =
                     CompletableFuture.supplyAsync(() -> processDocumentSafely(() ->
-                            documentProcessor.processScholarshipLetter(scholarshipLetter), "Scholarship Letter"));
+                            documentProcessor.processScholarshipLetter(scholarshipLetter), "Scholarship Letter", scholarshipLetter), documentExecutor);
 
             CompletableFuture<PassportInfo> passportFuture =
                     CompletableFuture.supplyAsync(() -> processDocumentSafely(() ->
-                            documentProcessor.processPassportImage(passportImage), "Passport"));
+                            documentProcessor.processPassportImage(passportImage), "Passport", passportImage), documentExecutor);
 
             // Wait for all documents to be processed
             CompletableFuture.allOf(bankFuture, universityFuture, scholarshipFuture, passportFuture)
@@ -74,49 +199,79 @@ public class DocumentOrchestrationService {
             application.setPassportInfo(passportFuture.get());
             application.setStatus(ApplicationStatus.DOCUMENTS_PROCESSED);
 
-            long processingTime = System.currentTimeMillis() - startTime;
+            long documentsNanos = documentsSample.stop(meterRegistry.timer("application.documents"));
             logger.info("Documents processed and aggregated successfully for application: {} in {}ms",
-                    applicationId, processingTime);
+                    applicationId, TimeUnit.NANOSECONDS.toMillis(documentsNanos));
 
             // Perform risk assessment
             logger.info("Starting risk assessment for application: {}", applicationId);
-            long riskAssessmentStart = System.currentTimeMillis();
+            long riskStart = System.nanoTime();
 
-            ApplicationRiskProfile riskProfile = riskAssessmentService.assessRisk(application);
+            ApplicationRiskProfile riskProfile = assessRisk(application);
             application.setRiskProfile(riskProfile);
 
-            long riskAssessmentTime = System.currentTimeMillis() - riskAssessmentStart;
-            logger.info("Risk assessment completed for application: {} in {}ms - Overall Risk: {}, Score: {}, Recommendation: {}",
-                    applicationId, riskAssessmentTime, riskProfile.getOverallRisk(),
+            long riskNanos = System.nanoTime() - riskStart;
+            logger.info("Risk assessment completed for application: {} in {}us - Overall Risk: {}, Score: {}, Recommendation: {}",
+                    applicationId, TimeUnit.NANOSECONDS.toMicros(riskNanos), riskProfile.getOverallRisk(),
                     riskProfile.getRiskScore(), riskProfile.getApprovalRecommendation());
 
-            // Set completion status and time
-            application.setStatus(ApplicationStatus.COMPLETED);
+            // Set completion time, then status: pollers that see COMPLETED also see the times
             application.setProcessingEndTime(LocalDateTime.now());
             application.calculateProcessingTime();
+            application.setStatus(ApplicationStatus.COMPLETED);
+            processingSample.stop(processingTimer("completed"));
 
             logger.info("Application aggregation complete: {}, status: {}, processing time: {}ms, risk level: {}",
                     applicationId, application.getStatus(), application.getProcessingTimeMs(),
                     application.getRiskProfile().getOverallRisk());
 
-            return application;
-
         } catch (Exception e) {
             logger.error("Error processing application: {}", applicationId, e);
-            application.setStatus(ApplicationStatus.FAILED);
+            application.setFailureReason(e.getMessage());
             application.setProcessingEndTime(LocalDateTime.now());
             application.calculateProcessingTime();
+            application.setStatus(ApplicationStatus.FAILED);
+            processingSample.stop(processingTimer("failed"));
             throw e;
         }
     }
 
+    /**
+     * Risk assessment wrapped in a risk.assessment observation: a span in the trace and a timer tagged with the risk level
+     */
+    private ApplicationRiskProfile assessRisk(StudentApplicationData application) {
+        Observation observation = Observation.createNotStarted("risk.assessment", observationRegistry)
+                .lowCardinalityKeyValue("risk", "unknown")
+                .highCardinalityKeyValue("application.id", application.getApplicationId());
+        return observation.observe(() -> {
+            ApplicationRiskProfile riskProfile = riskAssessmentService.assessRisk(application);
+            observation.lowCardinalityKeyValue("risk", String.valueOf(riskProfile.getOverallRisk()));
+            return riskProfile;
+        });
+    }
+
+    private Timer processingTimer(String outcome) {
+        return Timer.builder("application.processing")
+                .description("End-to-end processing of an application: documents plus risk assessment")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     // Safe document processing for CompletableFuture
-    private <T> T processDocumentSafely(CheckedSupplier<T> processor, String documentType) {
+    // Each document is its own span, child of the submitting request's trace
+    private <T> T processDocumentSafely(CheckedSupplier<T> processor, String documentType, MultipartFile file) {
+        Observation observation = Observation.createNotStarted("application.document", observationRegistry)
+                .contextualName("process " + documentType)
+                .lowCardinalityKeyValue("document.type", documentType)
+                .highCardinalityKeyValue("file.size", String.valueOf(file.getSize()))
+                .highCardinalityKeyValue("file.content-type", String.valueOf(file.getContentType()));
         try {
-            logger.debug("Processing {} document", documentType);
-            T result = processor.get();
-            logger.debug("Completed processing {} document", documentType);
-            return result;
+            return observation.observeChecked(() -> {
+                logger.debug("Processing {} document", documentType);
+                T result = processor.get();
+                logger.debug("Completed processing {} document", documentType);
+                return result;
+            });
         } catch (Exception e) {
             logger.error("Error processing {} document", documentType, e);
             throw new RuntimeException("Failed to process " + documentType + ": " + e.getMessage(), e);
@@ -169,6 +324,17 @@ public class DocumentOrchestrationService {
         }
     }
 
+    /**
+     * Thrown when the background intake queue cannot take another application
+     */
+    public static class ApplicationQueueFullException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        public ApplicationQueueFullException(String message) {
+            super(message);
+        }
+    }
+
     // Functional interface to handle checked exceptions
     @FunctionalInterface
     private interface CheckedSupplier<T> {
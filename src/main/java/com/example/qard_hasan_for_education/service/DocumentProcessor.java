@@ -5,37 +5,66 @@ import com.example.qard_hasan_for_education.model.individual.PassportInfo;
 import com.example.qard_hasan_for_education.model.individual.SimpleBankInfo;
 import com.example.qard_hasan_for_education.model.individual.UniversityAcceptance;
 import com.example.qard_hasan_for_education.model.individual.ScholarshipAcceptance;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.example.qard_hasan_for_education.model.gemini.GeminiRequest;
+import com.example.qard_hasan_for_education.model.gemini.GeminiResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.hc.client5.http.classic.methods.HttpPost;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
-import org.apache.hc.core5.http.io.entity.EntityUtils;
-import org.apache.hc.core5.http.io.entity.StringEntity;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.nio.charset.StandardCharsets;
-import java.util.*;
-import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 
 @Service
 public class DocumentProcessor {
 
     private static final Logger logger = LoggerFactory.getLogger(DocumentProcessor.class);
 
-    @Value("${ai.gemini.api-key}")
-    private String apiKey;
+    // Bump whenever a prompt or the extracted fields change, so cached extractions are not reused
+    static final String PROMPT_VERSION = "v1";
+
+    @Autowired
+    private GeminiClient geminiClient;
+
+    @Autowired
+    private DocumentResultCache resultCache;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
 
-    @Value("${ai.gemini.base-url}")
-    private String baseUrl;
+    @Value("${ai.gemini.rate-limit.tokens-per-document:1000}")
+    private int tokensPerDocument;
 
-    @Value("${ai.gemini.timeout:30000}")
-    private int timeout;
+    // Spring Boot's shared mapper; readers and writers built from it are immutable and thread-safe
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ObjectWriter requestWriter;
+    private ObjectReader responseReader;
+    private final Map<Class<?>, ObjectReader> resultReaders = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void initJson() {
+        // The request is written onto the HTTP connection, which the client closes itself
+        requestWriter = objectMapper.writerFor(GeminiRequest.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        responseReader = objectMapper.readerFor(GeminiResponse.class);
+        for (Class<?> type : List.of(SimpleBankInfo.class, UniversityAcceptance.class,
+                ScholarshipAcceptance.class, PassportInfo.class)) {
+            resultReaders.put(type, objectMapper.readerFor(type));
+        }
+    }
 
     // Enhanced method for bank documents with risk assessment
     public SimpleBankInfo processBankDocument(MultipartFile pdfFile) throws Exception {
@@ -69,7 +98,8 @@ public class DocumentProcessor {
             - Return ONLY the JSON, no additional text
             """;
 
-        return processDocument(pdfFile, prompt, SimpleBankInfo.class);
+        return resultCache.getOrCompute(pdfFile, "bank", PROMPT_VERSION, SimpleBankInfo.class,
+                () -> processDocument(pdfFile, "bank", prompt, SimpleBankInfo.class));
     }
 
     // Enhanced method for university acceptance letters with risk assessment
@@ -98,7 +128,8 @@ public class DocumentProcessor {
             - Return ONLY the JSON, no additional text
             """;
 
-        return processDocument(pdfFile, prompt, UniversityAcceptance.class);
+        return resultCache.getOrCompute(pdfFile, "university", PROMPT_VERSION, UniversityAcceptance.class,
+                () -> processDocument(pdfFile, "university", prompt, UniversityAcceptance.class));
     }
 
     // Enhanced method for scholarship letters with risk assessment
@@ -129,7 +160,8 @@ public class DocumentProcessor {
             - Return ONLY the JSON, no additional text
             """;
 
-        return processDocument(pdfFile, prompt, ScholarshipAcceptance.class);
+        return resultCache.getOrCompute(pdfFile, "scholarship", PROMPT_VERSION, ScholarshipAcceptance.class,
+                () -> processDocument(pdfFile, "scholarship", prompt, ScholarshipAcceptance.class));
     }
 
     // Passport processing remains the same as it doesn't need risk assessment
@@ -155,217 +187,98 @@ public class DocumentProcessor {
         - Return ONLY the JSON, no additional text
         """;
 
-        return processImageDocument(imageFile, prompt, PassportInfo.class);
+        return resultCache.getOrCompute(imageFile, "passport", PROMPT_VERSION, PassportInfo.class,
+                () -> processImageDocument(imageFile, "passport", prompt, PassportInfo.class));
     }
 
     // Add this new method for image processing
-    private <T> T processImageDocument(MultipartFile imageFile, String prompt, Class<T> responseType) throws Exception {
-        String base64Image = Base64.getEncoder().encodeToString(imageFile.getBytes());
-        logger.info("Image file size: {} bytes, type: {}", imageFile.getBytes().length, imageFile.getContentType());
-
-        String requestBody = buildGeminiRequestForImage(base64Image, imageFile.getContentType(), prompt);
-        String response = sendToGemini(requestBody);
-        return parseGeminiResponse(response, responseType);
-    }
-
-    // Add this new method for building image requests
-    private String buildGeminiRequestForImage(String base64Image, String mimeType, String prompt) throws Exception {
-        ObjectMapper mapper = new ObjectMapper();
-
-        Map<String, Object> request = new HashMap<>();
-        List<Map<String, Object>> contents = new ArrayList<>();
-        Map<String, Object> content = new HashMap<>();
-        List<Map<String, Object>> parts = new ArrayList<>();
-
-        // Add the instruction text
-        Map<String, Object> textPart = new HashMap<>();
-        textPart.put("text", prompt);
-        parts.add(textPart);
-
-        // Add the image file
-        Map<String, Object> filePart = new HashMap<>();
-        Map<String, Object> inlineData = new HashMap<>();
-        inlineData.put("mimeType", mimeType);
-        inlineData.put("data", base64Image);
-        filePart.put("inlineData", inlineData);
-        parts.add(filePart);
-
-        content.put("parts", parts);
-        contents.add(content);
-        request.put("contents", contents);
-
-        return mapper.writeValueAsString(request);
+    private <T> T processImageDocument(MultipartFile imageFile, String documentType, String prompt,
+                                       Class<T> responseType) throws Exception {
+        logger.info("Image file size: {} bytes, type: {}", imageFile.getSize(), imageFile.getContentType());
+
+        // The image is base64-encoded onto the connection while the request is sent
+        GeminiRequestEntity request = new GeminiRequestEntity(requestWriter,
+                GeminiRequest.withDocument(prompt, imageFile.getContentType(), imageFile));
+        String response = sendToGemini(documentType, request, estimateTokens(prompt));
+        return parse(documentType, response, responseType);
     }
 
     // Generic method that handles the API call
-    private <T> T processDocument(MultipartFile pdfFile, String prompt, Class<T> responseType) throws Exception {
-        // Convert PDF to Base64
-        String base64Pdf = Base64.getEncoder().encodeToString(pdfFile.getBytes());
-        logger.info("PDF file size: {} bytes", pdfFile.getBytes().length);
+    private <T> T processDocument(MultipartFile pdfFile, String documentType, String prompt,
+                                  Class<T> responseType) throws Exception {
+        logger.info("PDF file size: {} bytes", pdfFile.getSize());
 
-        // Build request
-        String requestBody = buildGeminiRequest(base64Pdf, prompt);
-        logger.debug("Request body: {}", requestBody);
+        // Build request; the PDF is base64-encoded onto the connection while the request is sent
+        GeminiRequestEntity request = new GeminiRequestEntity(requestWriter,
+                GeminiRequest.withDocument(prompt, "application/pdf", pdfFile));
 
         // Send to Gemini
-        String response = sendToGemini(requestBody);
+        String response = sendToGemini(documentType, request, estimateTokens(prompt));
         logger.info("Gemini API response: {}", response);
 
         // Parse response
-        return parseGeminiResponse(response, responseType);
+        return parse(documentType, response, responseType);
     }
 
-    private String buildGeminiRequest(String base64Pdf, String prompt) throws Exception {
-        ObjectMapper mapper = new ObjectMapper();
-
-        // This creates the JSON structure that Gemini expects
-        Map<String, Object> request = new HashMap<>();
-        List<Map<String, Object>> contents = new ArrayList<>();
-        Map<String, Object> content = new HashMap<>();
-        List<Map<String, Object>> parts = new ArrayList<>();
-
-        // Add the instruction text
-        Map<String, Object> textPart = new HashMap<>();
-        textPart.put("text", prompt);
-        parts.add(textPart);
-
-        // Add the PDF file
-        Map<String, Object> filePart = new HashMap<>();
-        Map<String, Object> inlineData = new HashMap<>();
-        inlineData.put("mimeType", "application/pdf");
-        inlineData.put("data", base64Pdf);
-        filePart.put("inlineData", inlineData);
-        parts.add(filePart);
-
-        content.put("parts", parts);
-        contents.add(content);
-        request.put("contents", contents);
-
-        return mapper.writeValueAsString(request);
+    private <T> T parse(String documentType, String response, Class<T> responseType) throws Exception {
+        Observation observation = Observation.createNotStarted("gemini.response.parse", observationRegistry)
+                .lowCardinalityKeyValue("type", documentType)
+                .highCardinalityKeyValue("response.length", String.valueOf(response.length()));
+        return observation.observeChecked(() -> parseGeminiResponse(response, responseType));
     }
 
-    private String sendToGemini(String requestBody) throws Exception {
-        int maxRetries = 3;
-        int retryDelayMs = 1000;
-
-        for (int attempt = 1; attempt <= maxRetries; attempt++) {
-            try (CloseableHttpClient client = HttpClients.createDefault()) {
-                String fullUrl = baseUrl + "?key=" + apiKey;
-                logger.info("Calling Gemini API at: {} (attempt {}/{})", baseUrl + "?key=***", attempt, maxRetries);
-
-                HttpPost post = new HttpPost(fullUrl);
-                post.setHeader("Content-Type", "application/json");
-
-                // Set timeout configurations
-                post.setConfig(org.apache.hc.client5.http.config.RequestConfig.custom()
-                        .setConnectionRequestTimeout(org.apache.hc.core5.util.Timeout.ofMilliseconds(timeout))
-                        .setResponseTimeout(org.apache.hc.core5.util.Timeout.ofMilliseconds(timeout))
-                        .build());
-
-                post.setEntity(new StringEntity(requestBody, StandardCharsets.UTF_8));
-
-                try (CloseableHttpResponse response = client.execute(post)) {
-                    int statusCode = response.getCode();
-                    String responseBody = EntityUtils.toString(response.getEntity());
-
-                    logger.info("Gemini API status code: {}", statusCode);
-
-                    if (statusCode == 200) {
-                        logger.info("Gemini API success on attempt {}", attempt);
-                        return responseBody;
-                    } else if (statusCode == 429) {
-                        logger.warn("Rate limit hit on attempt {}/{}", attempt, maxRetries);
-                        if (attempt < maxRetries) {
-                            logger.info("Waiting {} ms before retry...", retryDelayMs);
-                            Thread.sleep(retryDelayMs);
-                            retryDelayMs *= 2;
-                            continue;
-                        }
-                    }
-
-                    logger.error("Gemini API response body: {}", responseBody);
-                    throw new Exception("Gemini API returned status " + statusCode + ": " + responseBody);
-                }
-            } catch (java.net.SocketTimeoutException e) {
-                logger.error("Socket timeout on attempt {}/{}: {}", attempt, maxRetries, e.getMessage());
-                if (attempt < maxRetries) {
-                    logger.info("Retrying after socket timeout...");
-                    Thread.sleep(retryDelayMs);
-                    retryDelayMs *= 2;
-                    continue;
-                }
-                throw new Exception("Socket timeout after " + maxRetries + " attempts: " + e.getMessage(), e);
-            } catch (java.net.ConnectException e) {
-                logger.error("Connection failed on attempt {}/{}: {}", attempt, maxRetries, e.getMessage());
-                if (attempt < maxRetries) {
-                    logger.info("Retrying after connection failure...");
-                    Thread.sleep(retryDelayMs);
-                    retryDelayMs *= 2;
-                    continue;
-                }
-                throw new Exception("Connection failed after " + maxRetries + " attempts: " + e.getMessage(), e);
-            } catch (java.net.UnknownHostException e) {
-                logger.error("DNS resolution failed: {}", e.getMessage());
-                throw new Exception("Cannot resolve hostname generativelanguage.googleapis.com: " + e.getMessage(), e);
-            } catch (Exception e) {
-                logger.error("Unexpected error on attempt {}/{}: {} - {}", attempt, maxRetries, e.getClass().getSimpleName(), e.getMessage());
-                if (attempt < maxRetries) {
-                    logger.info("Retrying after unexpected error...");
-                    Thread.sleep(retryDelayMs);
-                    retryDelayMs *= 2;
-                    continue;
-                }
-                throw new Exception("Failed after " + maxRetries + " attempts: " + e.getMessage(), e);
-            }
-        }
+    /**
+     * Rough token cost for the rate limiter: ~4 characters per prompt token plus a flat cost per attachment
+     */
+    private int estimateTokens(String prompt) {
+        return prompt.length() / 4 + tokensPerDocument;
+    }
 
-        throw new Exception("Failed after " + maxRetries + " attempts");
+    private String sendToGemini(String documentType, GeminiRequestEntity request, int estimatedTokens) throws Exception {
+        // Retries, rate limiting, circuit breaking, hedging and latency metrics live in GeminiClient
+        return geminiClient.generateContent(documentType, request, estimatedTokens);
     }
 
-    private <T> T parseGeminiResponse(String response, Class<T> responseType) throws Exception {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode root = mapper.readTree(response);
+    <T> T parseGeminiResponse(String response, Class<T> responseType) throws Exception {
+        GeminiResponse root = responseReader.readValue(response);
 
         logger.debug("Parsing Gemini response: {}", response);
 
         // Check if response has error
-        if (root.has("error")) {
-            String errorMessage = root.path("error").path("message").asText();
-            throw new Exception("Gemini API error: " + errorMessage);
+        if (root.error() != null) {
+            throw new Exception("Gemini API error: " + root.error().message());
         }
 
         // Check if candidates exist
-        if (!root.has("candidates") || root.path("candidates").isEmpty()) {
+        if (root.candidates() == null || root.candidates().isEmpty()) {
             throw new Exception("No candidates found in response: " + response);
         }
 
-        JsonNode candidates = root.path("candidates");
-        if (candidates.get(0) == null) {
+        GeminiResponse.Candidate firstCandidate = root.candidates().get(0);
+        if (firstCandidate == null) {
             throw new Exception("First candidate is null in response: " + response);
         }
 
-        JsonNode firstCandidate = candidates.get(0);
-        if (!firstCandidate.has("content")) {
+        GeminiResponse.Content content = firstCandidate.content();
+        if (content == null) {
             throw new Exception("No content found in first candidate: " + response);
         }
 
-        JsonNode content = firstCandidate.path("content");
-        if (!content.has("parts") || content.path("parts").isEmpty()) {
+        if (content.parts() == null || content.parts().isEmpty()) {
             throw new Exception("No parts found in content: " + response);
         }
 
-        JsonNode parts = content.path("parts");
-        if (parts.get(0) == null) {
+        GeminiResponse.Part firstPart = content.parts().get(0);
+        if (firstPart == null) {
             throw new Exception("First part is null: " + response);
         }
 
-        JsonNode firstPart = parts.get(0);
-        if (!firstPart.has("text")) {
+        if (firstPart.text() == null) {
             throw new Exception("No text found in first part: " + response);
         }
 
         // Extract the AI's generated text from the response
-        String generatedText = firstPart.path("text").asText();
+        String generatedText = firstPart.text();
         logger.info("Generated text from Gemini: {}", generatedText);
 
         // Clean the response - remove markdown code blocks if present
@@ -374,7 +287,7 @@ public class DocumentProcessor {
 
         // Convert the JSON string back to your Java object
         try {
-            return mapper.readValue(cleanedJson, responseType);
+            return resultReaders.computeIfAbsent(responseType, objectMapper::readerFor).readValue(cleanedJson);
         } catch (Exception e) {
             logger.error("Failed to parse cleaned JSON: {}", cleanedJson);
             throw new Exception("Failed to parse AI response as JSON: " + cleanedJson, e);
@@ -384,7 +297,7 @@ public class DocumentProcessor {
     /**
      * Clean the JSON response by removing markdown code blocks and extra whitespace
      */
-    private String cleanJsonResponse(String response) {
+    String cleanJsonResponse(String response) {
         if (response == null || response.trim().isEmpty()) {
             return response;
         }
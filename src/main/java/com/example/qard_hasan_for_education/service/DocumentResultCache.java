@@ -0,0 +1,153 @@
+package com.example.qard_hasan_for_education.service;
+
+import com.example.qard_hasan_for_education.support.LruTtlCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Caches extracted document results by content hash, so a student re-submitting the same file
+ * does not cost another Gemini round trip. Entries live in an in-process LRU tier and, when enabled,
+ * in Redis so they survive restarts and are shared between instances.
+ */
+@Service
+public class DocumentResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentResultCache.class);
+
+    @Value("${ai.gemini.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.gemini.cache.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${ai.gemini.cache.ttl-minutes:360}")
+    private long ttlMinutes;
+
+    @Value("${ai.gemini.cache.redis.enabled:false}")
+    private boolean redisEnabled;
+
+    @Value("${ai.gemini.cache.redis.key-prefix:gemini:document:}")
+    private String redisKeyPrefix;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private LruTtlCache<String, Object> localCache;
+    private Counter localHits;
+    private Counter redisHits;
+    private Counter misses;
+
+    @PostConstruct
+    void init() {
+        localCache = new LruTtlCache<>(maxEntries, Duration.ofMinutes(ttlMinutes));
+
+        localHits = Counter.builder("gemini.cache.requests").tag("result", "hit").tag("tier", "local")
+                .description("Document extraction cache lookups").register(meterRegistry);
+        redisHits = Counter.builder("gemini.cache.requests").tag("result", "hit").tag("tier", "redis")
+                .description("Document extraction cache lookups").register(meterRegistry);
+        misses = Counter.builder("gemini.cache.requests").tag("result", "miss").tag("tier", "none")
+                .description("Document extraction cache lookups").register(meterRegistry);
+        Gauge.builder("gemini.cache.local.size", localCache, LruTtlCache::size)
+                .description("Entries held in the in-process document cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Return the cached result for this file, or run the loader and cache what it returns.
+     * Failures are never cached.
+     */
+    public <T> T getOrCompute(MultipartFile file, String documentType, String promptVersion,
+                              Class<T> responseType, Loader<T> loader) throws Exception {
+        if (!enabled) {
+            return loader.load();
+        }
+
+        String key = documentType + ":" + promptVersion + ":" + sha256(file);
+
+        Object local = localCache.get(key);
+        if (responseType.isInstance(local)) {
+            localHits.increment();
+            logger.info("Document cache hit (local) for {} document", documentType);
+            return responseType.cast(local);
+        }
+
+        T fromRedis = readFromRedis(key, responseType);
+        if (fromRedis != null) {
+            redisHits.increment();
+            logger.info("Document cache hit (redis) for {} document", documentType);
+            localCache.put(key, fromRedis);
+            return fromRedis;
+        }
+
+        misses.increment();
+        T result = loader.load();
+        if (result != null) {
+            localCache.put(key, result);
+            writeToRedis(key, result);
+        }
+        return result;
+    }
+
+    private <T> T readFromRedis(String key, Class<T> responseType) {
+        if (!redisEnabled) {
+            return null;
+        }
+        try {
+            Object raw = redisTemplate.opsForValue().get(redisKeyPrefix + key);
+            return raw != null ? objectMapper.convertValue(raw, responseType) : null;
+        } catch (Exception e) {
+            // Redis is only an optimisation here - fall through to Gemini
+            logger.warn("Document cache read from Redis failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToRedis(String key, Object value) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(redisKeyPrefix + key, value, Duration.ofMinutes(ttlMinutes));
+        } catch (Exception e) {
+            logger.warn("Document cache write to Redis failed: {}", e.getMessage());
+        }
+    }
+
+    private String sha256(MultipartFile file) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] buffer = new byte[8192];
+        try (InputStream in = file.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws Exception;
+    }
+}
@@ -0,0 +1,477 @@
+package com.example.qard_hasan_for_education.service;
+
+import com.example.qard_hasan_for_education.support.CircuitBreaker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Transport for Gemini generateContent calls. Every attempt goes through the shared rate limiter
+ * and a circuit breaker; only failures that can succeed on a second try (429, 408, 5xx, timeouts,
+ * dropped connections) are retried, with jittered exponential backoff inside an overall time budget.
+ * Optionally a second, hedged request is sent when the first one runs slower than usual.
+ *
+ * Publishes gemini.request (latency per document type and outcome), gemini.retries (by cause),
+ * gemini.throttled (429 responses), gemini.ratelimit.wait and the gemini.circuit.state gauge.
+ * Each attempt is traced as a gemini.attempt span tagged with document type, attempt number and status code.
+ */
+@Service
+public class GeminiClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeminiClient.class);
+
+    private static final int LATENCY_SAMPLES = 256;
+    private static final int MIN_SAMPLES_FOR_HEDGING = 20;
+
+    @Value("${ai.gemini.api-key}")
+    private String apiKey;
+
+    @Value("${ai.gemini.base-url}")
+    private String baseUrl;
+
+    @Value("${ai.gemini.max-retries:3}")
+    private int maxAttempts;
+
+    @Value("${ai.gemini.retry.base-delay-ms:500}")
+    private long baseDelayMs;
+
+    @Value("${ai.gemini.retry.max-delay-ms:8000}")
+    private long maxDelayMs;
+
+    @Value("${ai.gemini.retry.max-elapsed-ms:90000}")
+    private long maxElapsedMs;
+
+    @Value("${ai.gemini.circuit-breaker.window-size:20}")
+    private int breakerWindowSize;
+
+    @Value("${ai.gemini.circuit-breaker.minimum-calls:10}")
+    private int breakerMinimumCalls;
+
+    @Value("${ai.gemini.circuit-breaker.failure-rate-threshold:50}")
+    private int breakerFailureRateThreshold;
+
+    @Value("${ai.gemini.circuit-breaker.open-duration-ms:30000}")
+    private long breakerOpenDurationMs;
+
+    @Value("${ai.gemini.circuit-breaker.half-open-calls:3}")
+    private int breakerHalfOpenCalls;
+
+    @Value("${ai.gemini.hedging.enabled:false}")
+    private boolean hedgingEnabled;
+
+    @Value("${ai.gemini.hedging.percentile:0.95}")
+    private double hedgingPercentile;
+
+    @Value("${ai.gemini.hedging.min-delay-ms:2000}")
+    private long hedgingMinDelayMs;
+
+    // Pooled client shared by all Gemini calls (see GeminiClientConfig)
+    @Autowired
+    @Qualifier("geminiHttpClient")
+    private CloseableHttpClient httpClient;
+
+    @Autowired
+    private GeminiRateLimiter rateLimiter;
+
+    @Autowired
+    @Qualifier("geminiHedgeExecutor")
+    private ExecutorService hedgeExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    private CircuitBreaker circuitBreaker;
+    private Timer rateLimitWait;
+
+    // Ring buffer of recent successful call latencies, used to pick the hedging delay
+    private final AtomicLongArray latencies = new AtomicLongArray(LATENCY_SAMPLES);
+    private final AtomicInteger latencyCount = new AtomicInteger();
+
+    @PostConstruct
+    void init() {
+        circuitBreaker = new CircuitBreaker("gemini", breakerWindowSize, breakerMinimumCalls,
+                breakerFailureRateThreshold, Duration.ofMillis(breakerOpenDurationMs), breakerHalfOpenCalls);
+
+        // 0 = closed, 1 = open, 2 = half-open
+        Gauge.builder("gemini.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Gemini circuit breaker state (0 closed, 1 open, 2 half-open)")
+                .register(meterRegistry);
+        rateLimitWait = Timer.builder("gemini.ratelimit.wait")
+                .description("Time spent waiting for the shared Gemini quota")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Send a generateContent request and return the raw response body.
+     * The entity must be repeatable, since retries and hedged requests write it again.
+     * documentType only tags the metrics (bank, university, scholarship, passport).
+     */
+    public String generateContent(String documentType, HttpEntity requestBody, int estimatedTokens) throws Exception {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            String body = callWithRetries(documentType, requestBody, estimatedTokens);
+            outcome = "success";
+            return body;
+        } catch (GeminiException e) {
+            outcome = e.getStatusCode() == 503 && !e.isRetryable() ? "rejected" : "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("gemini.request")
+                    .description("Gemini generateContent calls including retries")
+                    .tag("type", documentType)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private String callWithRetries(String documentType, HttpEntity requestBody, int estimatedTokens) throws Exception {
+        long start = System.nanoTime();
+
+        for (int attempt = 1; ; attempt++) {
+            if (!circuitBreaker.tryAcquire()) {
+                throw new GeminiException("Gemini is temporarily unavailable, please try again later", 503, false);
+            }
+
+            long delayMs;
+            try {
+                logger.info("Calling Gemini API at: {} (attempt {}/{})", baseUrl + "?key=***", attempt, maxAttempts);
+                RawResponse response = tracedAttempt(documentType, attempt, requestBody, estimatedTokens);
+                logger.info("Gemini API status code: {}", response.statusCode);
+
+                if (response.statusCode == 200) {
+                    circuitBreaker.onSuccess();
+                    logger.info("Gemini API success on attempt {}", attempt);
+                    return response.body;
+                }
+
+                if (response.statusCode == 429) {
+                    // Quota, not an outage: hold back every caller and let the limiter queue the retry
+                    circuitBreaker.onIgnored();
+                    long pauseMs = Math.max(response.retryAfterMs, baseDelayMs);
+                    logger.warn("Rate limit hit on attempt {}/{}, pausing Gemini calls for {} ms", attempt, maxAttempts, pauseMs);
+                    meterRegistry.counter("gemini.throttled", "type", documentType).increment();
+                    rateLimiter.onThrottled(pauseMs);
+                    delayMs = 0;
+                    if (attempt < maxAttempts) {
+                        countRetry(documentType, "rate_limited");
+                    }
+                } else if (isRetryableStatus(response.statusCode)) {
+                    circuitBreaker.onFailure();
+                    delayMs = Math.max(backoffMs(attempt), response.retryAfterMs);
+                    if (attempt < maxAttempts) {
+                        countRetry(documentType, response.statusCode == 408 ? "timeout" : "server_error");
+                    }
+                } else {
+                    // Our request was rejected; Gemini itself is healthy and retrying will not help
+                    circuitBreaker.onIgnored();
+                    logger.error("Gemini API response body: {}", response.body);
+                    throw new GeminiException("Gemini API returned status " + response.statusCode + ": " + response.body,
+                            response.statusCode, false);
+                }
+
+                if (attempt >= maxAttempts) {
+                    logger.error("Gemini API response body: {}", response.body);
+                    throw new GeminiException("Gemini API returned status " + response.statusCode + " after "
+                            + attempt + " attempts: " + response.body, response.statusCode, true);
+                }
+            } catch (GeminiRateLimiter.RateLimitTimeoutException e) {
+                circuitBreaker.onIgnored();
+                logger.warn("Gemini quota wait exceeded: {}", e.getMessage());
+                throw new GeminiException("Gemini is busy, please try again later: " + e.getMessage(), 429, false, e);
+            } catch (InterruptedException e) {
+                circuitBreaker.onIgnored();
+                throw e;
+            } catch (IOException e) {
+                circuitBreaker.onFailure();
+                if (!isRetryable(e)) {
+                    logger.error("Gemini call failed: {} - {}", e.getClass().getSimpleName(), e.getMessage());
+                    throw new GeminiException("Gemini call failed: " + e.getMessage(), 0, false, e);
+                }
+                logger.warn("{} on attempt {}/{}: {}", e.getClass().getSimpleName(), attempt, maxAttempts, e.getMessage());
+                if (attempt >= maxAttempts) {
+                    throw new GeminiException("Gemini call failed after " + attempt + " attempts: " + e.getMessage(), 0, true, e);
+                }
+                delayMs = backoffMs(attempt);
+                countRetry(documentType, e instanceof SocketTimeoutException ? "timeout" : "io_error");
+            } catch (GeminiException e) {
+                throw e;
+            } catch (Exception e) {
+                circuitBreaker.onFailure();
+                logger.error("Unexpected Gemini call error: {} - {}", e.getClass().getSimpleName(), e.getMessage());
+                throw new GeminiException("Gemini call failed: " + e.getMessage(), 0, false, e);
+            }
+
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (elapsedMs + delayMs > maxElapsedMs) {
+                throw new GeminiException("Gemini call gave up after " + elapsedMs + " ms and " + attempt + " attempts", 0, true);
+            }
+            if (delayMs > 0) {
+                logger.info("Waiting {} ms before retry...", delayMs);
+                Thread.sleep(delayMs);
+            }
+        }
+    }
+
+    private void countRetry(String documentType, String cause) {
+        meterRegistry.counter("gemini.retries", "type", documentType, "cause", cause).increment();
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private RawResponse tracedAttempt(String documentType, int attempt, HttpEntity requestBody,
+                                      int estimatedTokens) throws Exception {
+        Observation observation = Observation.createNotStarted("gemini.attempt", observationRegistry)
+                .contextualName("gemini " + documentType + " attempt " + attempt)
+                .lowCardinalityKeyValue("type", documentType)
+                .lowCardinalityKeyValue("status", "none")
+                .highCardinalityKeyValue("attempt", String.valueOf(attempt));
+        return observation.observeChecked(() -> {
+            RawResponse response = execute(requestBody, estimatedTokens);
+            observation.lowCardinalityKeyValue("status", String.valueOf(response.statusCode));
+            return response;
+        });
+    }
+
+    private RawResponse execute(HttpEntity requestBody, int estimatedTokens) throws Exception {
+        long hedgeDelayMs = hedgingEnabled ? hedgeDelayMs() : -1;
+        if (hedgeDelayMs < 0) {
+            return call(newPost(requestBody), estimatedTokens, null);
+        }
+
+        HttpPost primaryPost = newPost(requestBody);
+        CompletableFuture<Void> primarySent = new CompletableFuture<>();
+        CompletableFuture<RawResponse> primary = callAsync(primaryPost, estimatedTokens, primarySent);
+        try {
+            // Start the hedge clock only once the primary holds its permit: time queued for quota is
+            // not a slow response, and hedging then would only double demand while the limiter throttles
+            CompletableFuture.anyOf(primarySent, primary).get();
+            return primary.get(hedgeDelayMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.info("Gemini call slower than {} ms, sending hedged request", hedgeDelayMs);
+            Observation current = observationRegistry.getCurrentObservation();
+            if (current != null) {
+                current.highCardinalityKeyValue("hedged.after.ms", String.valueOf(hedgeDelayMs));
+                current.event(Observation.Event.of("gemini.hedge"));
+            }
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+
+        HttpPost hedgePost = newPost(requestBody);
+        CompletableFuture<RawResponse> hedge = callAsync(hedgePost, estimatedTokens, null);
+        try {
+            return firstSuccessful(primary, hedge).get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } finally {
+            // Abort whichever request is still running so its connection goes back to the pool
+            if (!primary.isDone()) {
+                primaryPost.cancel();
+            }
+            if (!hedge.isDone()) {
+                hedgePost.cancel();
+            }
+        }
+    }
+
+    private CompletableFuture<RawResponse> callAsync(HttpPost post, int estimatedTokens, CompletableFuture<Void> sent) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call(post, estimatedTokens, sent);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, hedgeExecutor);
+    }
+
+    /**
+     * Completes with the first 200 response; otherwise with whatever the slower of the two produced.
+     */
+    private static CompletableFuture<RawResponse> firstSuccessful(CompletableFuture<RawResponse> first,
+                                                                     CompletableFuture<RawResponse> second) {
+        CompletableFuture<RawResponse> result = new CompletableFuture<>();
+        AtomicInteger unsuccessful = new AtomicInteger();
+        for (CompletableFuture<RawResponse> future : Arrays.asList(first, second)) {
+            future.whenComplete((response, error) -> {
+                if (error == null && response.statusCode == 200) {
+                    result.complete(response);
+                } else if (unsuccessful.incrementAndGet() == 2) {
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(response);
+                    }
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Wait for our turn in the shared quota, then send. sent (if given) completes once the permit is held.
+     * The response handler reads the whole body, and the client then closes the response so the
+     * connection returns to the pool.
+     */
+    private RawResponse call(HttpPost post, int estimatedTokens, CompletableFuture<Void> sent) throws Exception {
+        long waitStart = System.nanoTime();
+        GeminiRateLimiter.Permit permit = rateLimiter.acquire(estimatedTokens);
+        try {
+            long start = System.nanoTime();
+            rateLimitWait.record(start - waitStart, TimeUnit.NANOSECONDS);
+            if (sent != null) {
+                sent.complete(null);
+            }
+            return httpClient.execute(post, response -> {
+                int statusCode = response.getCode();
+                String body = EntityUtils.toString(response.getEntity());
+                if (statusCode == 200) {
+                    recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+                return new RawResponse(statusCode, body, retryAfterMs(response));
+            });
+        } finally {
+            permit.close();
+        }
+    }
+
+    private HttpPost newPost(HttpEntity requestBody) {
+        HttpPost post = new HttpPost(baseUrl + "?key=" + apiKey);
+        post.setEntity(requestBody);
+        return post;
+    }
+
+    private static boolean isRetryableStatus(int statusCode) {
+        return statusCode == 408 || statusCode == 429 || statusCode == 500
+                || statusCode == 502 || statusCode == 503 || statusCode == 504;
+    }
+
+    /**
+     * Timeouts, refused or reset connections are worth another try; DNS and TLS failures are not.
+     */
+    private static boolean isRetryable(IOException e) {
+        return !(e instanceof UnknownHostException) && !(e instanceof SSLException);
+    }
+
+    /**
+     * Exponential backoff with full jitter, so callers that failed together do not retry together.
+     */
+    private long backoffMs(int attempt) {
+        long ceiling = Math.min(maxDelayMs, baseDelayMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private long hedgeDelayMs() {
+        int count = Math.min(latencyCount.get(), LATENCY_SAMPLES);
+        if (count < MIN_SAMPLES_FOR_HEDGING) {
+            return -1;
+        }
+        long[] samples = new long[count];
+        for (int i = 0; i < count; i++) {
+            samples[i] = latencies.get(i);
+        }
+        Arrays.sort(samples);
+        int index = (int) Math.min(count - 1, Math.ceil(hedgingPercentile * count) - 1);
+        return Math.max(hedgingMinDelayMs, samples[Math.max(index, 0)]);
+    }
+
+    private void recordLatency(long latencyMs) {
+        latencies.set(Math.floorMod(latencyCount.getAndIncrement(), LATENCY_SAMPLES), latencyMs);
+    }
+
+    private static long retryAfterMs(HttpResponse response) {
+        Header retryAfter = response.getFirstHeader("Retry-After");
+        if (retryAfter != null) {
+            try {
+                return Long.parseLong(retryAfter.getValue().trim()) * 1000;
+            } catch (NumberFormatException e) {
+                logger.debug("Ignoring non-numeric Retry-After: {}", retryAfter.getValue());
+            }
+        }
+        return 0;
+    }
+
+    private static Exception unwrap(ExecutionException e) {
+        Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                ? e.getCause().getCause() : e.getCause();
+        return cause instanceof Exception ? (Exception) cause : e;
+    }
+
+    private static final class RawResponse {
+        final int statusCode;
+        final String body;
+        final long retryAfterMs;
+
+        RawResponse(int statusCode, String body, long retryAfterMs) {
+            this.statusCode = statusCode;
+            this.body = body;
+            this.retryAfterMs = retryAfterMs;
+        }
+    }
+
+    /**
+     * Gemini call failure. statusCode is 0 when no HTTP response was received.
+     */
+    public static class GeminiException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private final int statusCode;
+        private final boolean retryable;
+
+        public GeminiException(String message, int statusCode, boolean retryable) {
+            super(message);
+            this.statusCode = statusCode;
+            this.retryable = retryable;
+        }
+
+        public GeminiException(String message, int statusCode, boolean retryable, Throwable cause) {
+            super(message, cause);
+            this.statusCode = statusCode;
+            this.retryable = retryable;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        public boolean isRetryable() {
+            return retryable;
+        }
+    }
+}
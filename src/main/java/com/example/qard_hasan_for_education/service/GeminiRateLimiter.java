@@ -0,0 +1,38 @@
+package com.example.qard_hasan_for_education.service;
+
+/**
+ * Shared quota in front of every Gemini call: requests per minute, estimated tokens per minute
+ * and a cap on calls in flight. Callers block until it is their turn instead of firing and
+ * retrying on 429.
+ */
+public interface GeminiRateLimiter {
+
+    /**
+     * Wait until a call costing roughly this many tokens may be sent.
+     * The returned permit holds a concurrency slot and must be closed once the response is read.
+     */
+    Permit acquire(int estimatedTokens) throws InterruptedException, RateLimitTimeoutException;
+
+    /**
+     * Gemini answered 429 despite our limits: hold everyone back for the given time
+     * and restart the buckets from empty.
+     */
+    void onThrottled(long pauseMs);
+
+    @FunctionalInterface
+    interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Thrown when the expected wait for quota is longer than we are willing to block a caller.
+     */
+    class RateLimitTimeoutException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        public RateLimitTimeoutException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.qard_hasan_for_education.service;
+
+import com.example.qard_hasan_for_education.model.gemini.GeminiRequest;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.AbstractHttpEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * generateContent request body that is serialized onto the connection as it is sent. The attached
+ * document is base64-encoded from its InputStream (see GeminiRequest), so neither the raw bytes nor
+ * the encoded string are held in memory. The document is reopened on every write, which keeps the
+ * entity repeatable for retries and hedges.
+ */
+class GeminiRequestEntity extends AbstractHttpEntity {
+
+    private final ObjectWriter writer;
+    private final GeminiRequest request;
+
+    /**
+     * @param writer a writer for GeminiRequest that does not close the target stream
+     */
+    GeminiRequestEntity(ObjectWriter writer, GeminiRequest request) {
+        super(ContentType.APPLICATION_JSON, null, true);
+        this.writer = writer;
+        this.request = request;
+    }
+
+    @Override
+    public void writeTo(OutputStream outStream) throws IOException {
+        writer.writeValue(outStream, request);
+    }
+
+    /**
+     * Only for callers that insist on pulling the body; buffers it in memory.
+     */
+    @Override
+    public InputStream getContent() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        writeTo(buffer);
+        return new ByteArrayInputStream(buffer.toByteArray());
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+        // Nothing held open between writes
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.qard_hasan_for_education.service;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process Gemini limiter. Two token buckets (requests and estimated tokens per minute) are
+ * reserved under a fair lock, so callers get their slot in arrival order and simply sleep until
+ * it comes up. A fair semaphore then caps how many calls are in flight at once.
+ */
+public class LocalGeminiRateLimiter implements GeminiRateLimiter {
+
+    private final TokenBucket requestBucket;
+    private final TokenBucket tokenBucket;
+    private final Semaphore concurrency;
+    private final long maxWaitNanos;
+
+    // Fair: reservations are handed out first come, first served
+    private final ReentrantLock lock = new ReentrantLock(true);
+
+    public LocalGeminiRateLimiter(int requestsPerMinute, int tokensPerMinute, int maxConcurrent, long maxWaitMs) {
+        long now = System.nanoTime();
+        this.requestBucket = new TokenBucket(requestsPerMinute, Duration.ofMinutes(1), now);
+        this.tokenBucket = new TokenBucket(tokensPerMinute, Duration.ofMinutes(1), now);
+        this.concurrency = new Semaphore(maxConcurrent, true);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+    }
+
+    @Override
+    public Permit acquire(int estimatedTokens) throws InterruptedException, RateLimitTimeoutException {
+        long start = System.nanoTime();
+
+        long waitNanos = reserve(estimatedTokens);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+
+        long remaining = maxWaitNanos - (System.nanoTime() - start);
+        if (!concurrency.tryAcquire(Math.max(remaining, 0), TimeUnit.NANOSECONDS)) {
+            throw new RateLimitTimeoutException("Timed out waiting for a free Gemini slot after "
+                    + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + " ms");
+        }
+        return concurrency::release;
+    }
+
+    @Override
+    public void onThrottled(long pauseMs) {
+        lock.lock();
+        try {
+            long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pauseMs);
+            requestBucket.pauseUntil(until);
+            tokenBucket.pauseUntil(until);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take one request and the estimated tokens from the buckets, going into debt if needed,
+     * and return how long the caller has to wait before the reservation is covered.
+     */
+    protected long reserve(int estimatedTokens) throws RateLimitTimeoutException {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            long waitNanos = Math.max(requestBucket.waitFor(1, now), tokenBucket.waitFor(estimatedTokens, now));
+            if (waitNanos > maxWaitNanos) {
+                throw new RateLimitTimeoutException("Gemini quota exhausted, next slot in "
+                        + TimeUnit.NANOSECONDS.toMillis(waitNanos) + " ms");
+            }
+            requestBucket.take(1);
+            tokenBucket.take(estimatedTokens);
+            return waitNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Bucket refilled continuously at capacity per period. Balance may go negative to represent
+     * reservations that are already promised to waiting callers. Not thread-safe on its own.
+     */
+    private static final class TokenBucket {
+        private final double capacity;
+        private final double refillPerNano;
+        private double available;
+        private long lastRefillNanos;
+
+        TokenBucket(double capacity, Duration period, long now) {
+            this.capacity = capacity;
+            this.refillPerNano = capacity / period.toNanos();
+            this.available = capacity;
+            this.lastRefillNanos = now;
+        }
+
+        long waitFor(double cost, long now) {
+            if (now > lastRefillNanos) {
+                available = Math.min(capacity, available + (now - lastRefillNanos) * refillPerNano);
+                lastRefillNanos = now;
+            }
+            // lastRefillNanos lies in the future while we are paused after a 429
+            long pause = Math.max(0, lastRefillNanos - now);
+            double deficit = Math.min(cost, capacity) - available;
+            return deficit <= 0 ? pause : pause + (long) Math.ceil(deficit / refillPerNano);
+        }
+
+        void take(double cost) {
+            available -= Math.min(cost, capacity);
+        }
+
+        void pauseUntil(long untilNanos) {
+            available = Math.min(available, 0);
+            lastRefillNanos = Math.max(lastRefillNanos, untilNanos);
+        }
+    }
+}
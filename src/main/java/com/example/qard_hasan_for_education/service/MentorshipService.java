@@ -1,14 +1,18 @@
 package com.example.qard_hasan_for_education.service;
 
 import com.example.qard_hasan_for_education.model.*;
+import com.example.qard_hasan_for_education.repository.MentorshipRepository;
+import com.example.qard_hasan_for_education.repository.MentorshipRepository.MatchUpdate;
+import com.example.qard_hasan_for_education.repository.MentorshipRepository.WaitingPosition;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,14 +20,24 @@ public class MentorshipService {
 
     private static final Logger logger = LoggerFactory.getLogger(MentorshipService.class);
 
-    // Simple in-memory storage
-    private final Map<String, MentorProfile> mentorProfiles = new ConcurrentHashMap<>();
-    private final Map<String, MenteeProfile> menteeProfiles = new ConcurrentHashMap<>();
-    private final Map<String, MentorshipMatch> mentorshipMatches = new ConcurrentHashMap<>();
+    // Running counters kept by the repository and updated on every transition
+    private static final String STAT_MATCHES = "matches";
+    private static final String STAT_SESSIONS = "sessions";
+
+    private static final Set<MentorshipMatchStatus> ANY_STATUS = EnumSet.allOf(MentorshipMatchStatus.class);
+    private static final Set<MentorshipMatchStatus> SLOT_HOLDING =
+            EnumSet.of(MentorshipMatchStatus.ACTIVE, MentorshipMatchStatus.PAUSED);
+
+    // In-memory or Redis, see MentorshipStoreConfig
+    @Autowired
+    private MentorshipRepository repository;
 
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     /**
      * Create a mentee profile for students seeking help
      */
@@ -52,8 +66,7 @@ public class MentorshipService {
         menteeProfile.setNeedsMentor(true);
         menteeProfile.setCreatedAt(LocalDateTime.now());
 
-        // Store in memory
-        menteeProfiles.put(menteeProfile.getMenteeId(), menteeProfile);
+        repository.saveMentee(menteeProfile);
 
         logger.info("Mentee profile created: {} for student: {}", menteeProfile.getMenteeId(), studentId);
         return menteeProfile;
@@ -66,25 +79,20 @@ public class MentorshipService {
         logger.info("Creating mentorship match: mentor={}, mentee={}, helpType={}", mentorId, menteeId, helpType);
 
         // Validate mentor
-        MentorProfile mentor = mentorProfiles.get(mentorId);
+        MentorProfile mentor = repository.findMentor(mentorId);
         if (mentor == null) {
             throw new Exception("Mentor not found: " + mentorId);
         }
 
-        Integer currentMentees = mentor.getCurrentMentees() != null ? mentor.getCurrentMentees() : 0;
         Integer maxMentees = mentor.getMaxMentees() != null ? mentor.getMaxMentees() : 5;
 
-        if (currentMentees >= maxMentees) {
-            throw new Exception("Mentor has reached maximum mentee capacity");
-        }
-
         List<HelpType> availableHelpTypes = mentor.getAvailableHelpTypes();
         if (availableHelpTypes == null || !availableHelpTypes.contains(helpType)) {
             throw new Exception("Mentor does not offer this type of help: " + helpType);
         }
 
-        // Validate mentee
-        MenteeProfile mentee = menteeProfiles.get(menteeId);
+        // Validate mentee; saved back below, so not from a cache
+        MenteeProfile mentee = repository.findMenteeForUpdate(menteeId);
         if (mentee == null) {
             throw new Exception("Mentee not found: " + menteeId);
         }
@@ -93,80 +101,76 @@ public class MentorshipService {
             throw new Exception("Mentee is not actively seeking a mentor");
         }
 
-        // Check for existing active match
-        if (hasActiveMatch(mentorId, menteeId)) {
-            throw new Exception("Active mentorship already exists between these users");
-        }
-
         // Create the match
         MentorshipMatch match = new MentorshipMatch();
-        match.setMatchId("MATCH_" + System.currentTimeMillis());
+        match.setMatchId("MATCH_" + System.currentTimeMillis() + "_" + UUID.randomUUID().toString().substring(0, 8));
         match.setMentorId(mentorId);
         match.setMenteeId(menteeId);
         match.setStatus(MentorshipMatchStatus.ACTIVE);
         match.setMatchedAt(LocalDateTime.now());
         match.setFocusAreas(Arrays.asList(helpType));
         match.setSessionCount(0);
-        mentorshipMatches.put(match.getMatchId(), match);
 
-        // Update mentor and mentee statistics
-        updateMentorStats(mentor, 1, 0);
+        // Capacity check, duplicate check and insert happen as one step in the repository,
+        // so concurrent requests for the same mentor cannot overbook them
+        switch (repository.reserveMatch(match, maxMentees)) {
+            case AT_CAPACITY:
+                throw new Exception("Mentor has reached maximum mentee capacity");
+            case DUPLICATE:
+                throw new Exception("Active mentorship already exists between these users");
+            default:
+                break;
+        }
+        repository.incrementStatistics(Map.of(STAT_MATCHES, 1L, statusStatistic(MentorshipMatchStatus.ACTIVE), 1L));
+
+        // Update mentee statistics; the mentor's load was already taken by the reservation
         mentee.setLastUpdated(LocalDateTime.now());
+        repository.saveMentee(mentee);
 
         // Send notifications
         List<NotificationService.NotificationData> notifications = notificationService.generateMentorshipMatchNotifications(mentorId, menteeId, match.getMatchId());
         logger.info("Generated {} mentorship match notifications", notifications.size());
 
         logger.info("Mentorship match created: {}", match.getMatchId());
+        meterRegistry.counter("mentorship.matches", "event", "created", "helpType", helpType.name()).increment();
         return match;
     }
 
     /**
-     * Get all matches for a mentor
+     * Get all matches for a mentor, newest first (already ordered by the repository index)
      */
     public List<MentorshipMatch> getMentorMatches(String mentorId) {
-        return mentorshipMatches.values().stream()
-                .filter(match -> mentorId.equals(match.getMentorId()))
-                .sorted((m1, m2) -> m2.getMatchedAt().compareTo(m1.getMatchedAt()))
-                .collect(Collectors.toList());
+        return repository.findMatchesByMentor(mentorId);
     }
 
     /**
-     * Get all matches for a mentee
+     * Get all matches for a mentee, newest first (already ordered by the repository index)
      */
     public List<MentorshipMatch> getMenteeMatches(String menteeId) {
-        return mentorshipMatches.values().stream()
-                .filter(match -> menteeId.equals(match.getMenteeId()))
-                .sorted((m1, m2) -> m2.getMatchedAt().compareTo(m1.getMatchedAt()))
-                .collect(Collectors.toList());
+        return repository.findMatchesByMentee(menteeId);
     }
 
     /**
      * Record a mentoring session
      */
     public MentorshipMatch recordSession(String matchId, String sessionNotes) throws Exception {
-        MentorshipMatch match = mentorshipMatches.get(matchId);
-        if (match == null) {
-            throw new Exception("Mentorship match not found: " + matchId);
-        }
-
-        if (match.getStatus() != MentorshipMatchStatus.ACTIVE) {
-            throw new Exception("Cannot record session for inactive mentorship");
-        }
-
-        // Update match
-        Integer currentSessions = match.getSessionCount() != null ? match.getSessionCount() : 0;
-        match.setSessionCount(currentSessions + 1);
-        match.setLastSessionAt(LocalDateTime.now());
-        if (sessionNotes != null && !sessionNotes.trim().isEmpty()) {
-            String existingNotes = match.getNotes() != null ? match.getNotes() : "";
-            match.setNotes(existingNotes + "\n[" + LocalDateTime.now() + "] " + sessionNotes);
-        }
+        // Update match; read and written back in one step, so a concurrent change is never overwritten
+        MatchUpdate update = repository.updateMatch(matchId, EnumSet.of(MentorshipMatchStatus.ACTIVE), null, match -> {
+            Integer currentSessions = match.getSessionCount() != null ? match.getSessionCount() : 0;
+            match.setSessionCount(currentSessions + 1);
+            match.setLastSessionAt(LocalDateTime.now());
+            if (sessionNotes != null && !sessionNotes.trim().isEmpty()) {
+                String existingNotes = match.getNotes() != null ? match.getNotes() : "";
+                match.setNotes(existingNotes + "\n[" + LocalDateTime.now() + "] " + sessionNotes);
+            }
+        });
+        MentorshipMatch match = appliedMatch(update, matchId, "Cannot record session for inactive mentorship");
+        repository.incrementStatistics(Map.of(STAT_SESSIONS, 1L));
 
         // Update mentor statistics
-        MentorProfile mentor = mentorProfiles.get(match.getMentorId());
+        MentorProfile mentor = repository.findMentorForUpdate(match.getMentorId());
         if (mentor != null) {
-            updateMentorStats(mentor, 0, 1);
+            updateMentorStats(mentor);
         }
 
         logger.info("Session recorded for match: {}, total sessions: {}", matchId, match.getSessionCount());
@@ -181,18 +185,15 @@ public class MentorshipService {
             throw new Exception("Rating must be between 1 and 5");
         }
 
-        MentorshipMatch match = mentorshipMatches.get(matchId);
-        if (match == null) {
-            throw new Exception("Mentorship match not found: " + matchId);
-        }
-
-        if (isMenteeRating) {
-            match.setMenteeRating((double) rating);
-            logger.info("Mentee rated mentorship: {} - Rating: {}", matchId, rating);
-        } else {
-            match.setMentorRating((double) rating);
-            logger.info("Mentor rated mentorship: {} - Rating: {}", matchId, rating);
-        }
+        MatchUpdate update = repository.updateMatch(matchId, ANY_STATUS, null, match -> {
+            if (isMenteeRating) {
+                match.setMenteeRating((double) rating);
+            } else {
+                match.setMentorRating((double) rating);
+            }
+        });
+        MentorshipMatch match = appliedMatch(update, matchId, "Cannot rate this mentorship");
+        logger.info("{} rated mentorship: {} - Rating: {}", isMenteeRating ? "Mentee" : "Mentor", matchId, rating);
 
         // Update mentor's average rating if mentee rated
         if (isMenteeRating) {
@@ -206,50 +207,46 @@ public class MentorshipService {
      * Complete a mentorship
      */
     public MentorshipMatch completeMentorship(String matchId, String completionReason) throws Exception {
-        MentorshipMatch match = mentorshipMatches.get(matchId);
-        if (match == null) {
-            throw new Exception("Mentorship match not found: " + matchId);
-        }
-
-        match.setStatus(MentorshipMatchStatus.COMPLETED);
-        match.setCompletedAt(LocalDateTime.now());
-        match.setLastSessionAt(LocalDateTime.now());
-
-        if (completionReason != null) {
-            String existingNotes = match.getNotes() != null ? match.getNotes() : "";
-            match.setNotes(existingNotes + "\n[COMPLETED] " + completionReason);
-        }
-
-        // Update mentor's current mentee count
-        MentorProfile mentor = mentorProfiles.get(match.getMentorId());
-        if (mentor != null) {
-            updateMentorStats(mentor, -1, 0);
-        }
+        // Only one of two concurrent completions succeeds; the repository gives the mentor's slot back with it
+        MatchUpdate update = repository.updateMatch(matchId, SLOT_HOLDING,
+                MentorshipMatchStatus.COMPLETED, match -> {
+            match.setCompletedAt(LocalDateTime.now());
+            match.setLastSessionAt(LocalDateTime.now());
+
+            if (completionReason != null) {
+                String existingNotes = match.getNotes() != null ? match.getNotes() : "";
+                match.setNotes(existingNotes + "\n[COMPLETED] " + completionReason);
+            }
+        });
+        MentorshipMatch match = appliedMatch(update, matchId, "Can only complete active or paused mentorships");
+        recordTransition(update.previousStatus(), MentorshipMatchStatus.COMPLETED);
 
         // Send completion notification
         List<NotificationService.NotificationData> notifications = notificationService.generateMentorshipCompletionNotifications(match.getMentorId(), match.getMenteeId(), matchId);
         logger.info("Generated {} mentorship completion notifications", notifications.size());
 
         logger.info("Mentorship completed: {}", matchId);
+        String focus = match.getFocusAreas() != null && !match.getFocusAreas().isEmpty()
+                ? match.getFocusAreas().get(0).name() : "none";
+        meterRegistry.counter("mentorship.matches", "event", "completed", "helpType", focus).increment();
         return match;
     }
 
     /**
-     * Pause a mentorship temporarily
+     * Pause an active mentorship temporarily; it keeps the mentor's slot, so no other match can take it meanwhile
      */
     public MentorshipMatch pauseMentorship(String matchId, String reason) throws Exception {
-        MentorshipMatch match = mentorshipMatches.get(matchId);
-        if (match == null) {
-            throw new Exception("Mentorship match not found: " + matchId);
-        }
-
-        match.setStatus(MentorshipMatchStatus.PAUSED);
-        match.setLastSessionAt(LocalDateTime.now());
-
-        if (reason != null) {
-            String existingNotes = match.getNotes() != null ? match.getNotes() : "";
-            match.setNotes(existingNotes + "\n[PAUSED] " + reason);
-        }
+        MatchUpdate update = repository.updateMatch(matchId, EnumSet.of(MentorshipMatchStatus.ACTIVE),
+                MentorshipMatchStatus.PAUSED, match -> {
+            match.setLastSessionAt(LocalDateTime.now());
+
+            if (reason != null) {
+                String existingNotes = match.getNotes() != null ? match.getNotes() : "";
+                match.setNotes(existingNotes + "\n[PAUSED] " + reason);
+            }
+        });
+        MentorshipMatch match = appliedMatch(update, matchId, "Can only pause active mentorships");
+        recordTransition(MentorshipMatchStatus.ACTIVE, MentorshipMatchStatus.PAUSED);
 
         logger.info("Mentorship paused: {} - Reason: {}", matchId, reason);
         return match;
@@ -259,58 +256,120 @@ public class MentorshipService {
      * Resume a paused mentorship
      */
     public MentorshipMatch resumeMentorship(String matchId) throws Exception {
-        MentorshipMatch match = mentorshipMatches.get(matchId);
-        if (match == null) {
-            throw new Exception("Mentorship match not found: " + matchId);
-        }
-
-        if (match.getStatus() != MentorshipMatchStatus.PAUSED) {
-            throw new Exception("Can only resume paused mentorships");
-        }
+        MatchUpdate update = repository.updateMatch(matchId, EnumSet.of(MentorshipMatchStatus.PAUSED),
+                MentorshipMatchStatus.ACTIVE, match -> {
+            match.setLastSessionAt(LocalDateTime.now());
 
-        match.setStatus(MentorshipMatchStatus.ACTIVE);
-        match.setLastSessionAt(LocalDateTime.now());
-
-        String existingNotes = match.getNotes() != null ? match.getNotes() : "";
-        match.setNotes(existingNotes + "\n[RESUMED] " + LocalDateTime.now());
+            String existingNotes = match.getNotes() != null ? match.getNotes() : "";
+            match.setNotes(existingNotes + "\n[RESUMED] " + LocalDateTime.now());
+        });
+        MentorshipMatch match = appliedMatch(update, matchId, "Can only resume paused mentorships");
+        recordTransition(MentorshipMatchStatus.PAUSED, MentorshipMatchStatus.ACTIVE);
 
         logger.info("Mentorship resumed: {}", matchId);
         return match;
     }
 
     /**
-     * Get mentorship statistics for dashboard
+     * Get mentorship statistics for dashboard - O(1), read from the running counters
      */
     public Map<String, Object> getMentorshipStatistics() {
-        Collection<MentorshipMatch> allMatches = mentorshipMatches.values();
+        Map<String, Long> counters = repository.getStatistics();
 
         Map<String, Object> stats = new HashMap<>();
-        stats.put("totalMentors", mentorProfiles.size());
-        stats.put("totalMentees", menteeProfiles.size());
-        stats.put("totalMatches", allMatches.size());
-        stats.put("activeMatches", allMatches.stream().filter(m -> m.getStatus() == MentorshipMatchStatus.ACTIVE).count());
-        stats.put("completedMatches", allMatches.stream().filter(m -> m.getStatus() == MentorshipMatchStatus.COMPLETED).count());
-        stats.put("totalSessions", allMatches.stream().mapToInt(m -> m.getSessionCount() != null ? m.getSessionCount() : 0).sum());
+        stats.put("totalMentors", repository.countMentors());
+        stats.put("totalMentees", repository.countMentees());
+        stats.put("totalMatches", counters.getOrDefault(STAT_MATCHES, 0L));
+        stats.put("activeMatches", counters.getOrDefault(statusStatistic(MentorshipMatchStatus.ACTIVE), 0L));
+        stats.put("completedMatches", counters.getOrDefault(statusStatistic(MentorshipMatchStatus.COMPLETED), 0L));
+        stats.put("totalSessions", counters.getOrDefault(STAT_SESSIONS, 0L));
 
         return stats;
     }
 
     /**
-     * Check if there's an active match between mentor and mentee
+     * Mentees waiting for a mentor who need at least one of the given help types (the mentor's own when null),
+     * most urgent first, leaving out those already in an active or paused match with this mentor.
+     * Served from the repository's per-help-type index, not by scanning every mentee.
+     * Pass the previous page's nextCursor to continue after it, or null for the first page.
+     */
+    public MenteePage findPotentialMentees(MentorProfile mentor, List<HelpType> helpTypes,
+                                           String cursor, int limit) {
+        long helpMask = HelpType.mask(helpTypes != null ? helpTypes : mentor.getAvailableHelpTypes());
+        if (helpMask == 0L || limit <= 0) {
+            return new MenteePage(new ArrayList<>(), null);
+        }
+        WaitingPosition after = decodeCursor(cursor);
+        Set<String> alreadyMatchedIds = getMentorMatches(mentor.getMentorId()).stream()
+                .filter(match -> MentorshipRepository.holdsMentorSlot(match.getStatus()))
+                .map(MentorshipMatch::getMenteeId)
+                .collect(Collectors.toSet());
+
+        List<MenteeProfile> mentees = repository.findWaitingMentees(helpMask, alreadyMatchedIds, after, limit);
+        // A short page is the last one
+        String nextCursor = mentees.size() < limit ? null
+                : encodeCursor(WaitingPosition.of(mentees.get(mentees.size() - 1)));
+        return new MenteePage(mentees, nextCursor);
+    }
+
+    /**
+     * Check if there's an active (or paused) match between mentor and mentee
      */
     public boolean hasActiveMatch(String mentorId, String menteeId) {
-        return mentorshipMatches.values().stream()
-                .anyMatch(match -> mentorId.equals(match.getMentorId()) &&
-                        menteeId.equals(match.getMenteeId()) &&
-                        match.getStatus() == MentorshipMatchStatus.ACTIVE);
+        return repository.hasActiveMatch(mentorId, menteeId);
     }
 
     // Private helper methods
 
-    private void updateMentorStats(MentorProfile mentor, int menteeCountChange, int sessionCountChange) {
-        Integer currentMentees = mentor.getCurrentMentees() != null ? mentor.getCurrentMentees() : 0;
-        mentor.setCurrentMentees(Math.max(0, currentMentees + menteeCountChange));
+    private static MentorshipMatch appliedMatch(MatchUpdate update, String matchId, String refusal) throws Exception {
+        if (update.match() == null) {
+            throw new Exception("Mentorship match not found: " + matchId);
+        }
+        if (!update.applied()) {
+            throw new Exception(refusal);
+        }
+        return update.match();
+    }
+
+    private void recordTransition(MentorshipMatchStatus from, MentorshipMatchStatus to) {
+        if (from == to) {
+            return;
+        }
+        Map<String, Long> deltas = new HashMap<>();
+        if (from != null) {
+            deltas.put(statusStatistic(from), -1L);
+        }
+        deltas.put(statusStatistic(to), 1L);
+        repository.incrementStatistics(deltas);
+    }
+
+    // Opaque to clients: the last mentee's score and id, URL-safe
+    private static String encodeCursor(WaitingPosition position) {
+        String raw = position.score() + ":" + position.menteeId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static WaitingPosition decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new WaitingPosition(Double.parseDouble(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private static String statusStatistic(MentorshipMatchStatus status) {
+        return "matches." + status.name();
+    }
+
+    // currentMentees is left alone: only reserveMatch/updateMatch change it, atomically
+    private void updateMentorStats(MentorProfile mentor) {
         mentor.setLastUpdated(LocalDateTime.now());
+        repository.saveMentor(mentor);
     }
 
     private void updateMentorAverageRating(String mentorId) {
@@ -332,4 +391,20 @@ public class MentorshipService {
             logger.info("Mentor {} average rating calculated: {}", mentorId, Math.round(averageRating * 100.0) / 100.0);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * One page of potential mentees; nextCursor is null on the last page
+     */
+    public static class MenteePage {
+        private final List<MenteeProfile> mentees;
+        private final String nextCursor;
+
+        public MenteePage(List<MenteeProfile> mentees, String nextCursor) {
+            this.mentees = mentees;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<MenteeProfile> getMentees() { return mentees; }
+        public String getNextCursor() { return nextCursor; }
+    }
+}
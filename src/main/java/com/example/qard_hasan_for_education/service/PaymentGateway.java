@@ -0,0 +1,14 @@
+package com.example.qard_hasan_for_education.service;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Where repayments are charged. Calls return at once; the future completes with true when the
+ * payment went through and false when it was declined. It completes exceptionally only when
+ * the gateway could not be reached.
+ */
+public interface PaymentGateway {
+
+    CompletableFuture<Boolean> charge(String loanId, BigDecimal amount, String paymentMethod);
+}
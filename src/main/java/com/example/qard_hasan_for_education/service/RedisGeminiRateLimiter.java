@@ -0,0 +1,118 @@
+package com.example.qard_hasan_for_education.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini limiter whose request and token buckets live in Redis, so every node draws from one
+ * quota. The reservation runs as a single Lua script using the Redis clock, which keeps the
+ * buckets consistent regardless of node clock skew. The in-flight cap stays per node.
+ * If Redis is unreachable we fall back to the local buckets rather than failing the call.
+ */
+public class RedisGeminiRateLimiter extends LocalGeminiRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisGeminiRateLimiter.class);
+
+    // KEYS: request bucket, token bucket. ARGV: requests/min, tokens/min, token cost, max wait ms.
+    // Returns the wait in ms, or -1 when the wait would exceed the maximum (nothing is reserved then).
+    private static final RedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+            local t = redis.call('TIME')
+            local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+            local function load(key, capacity)
+              local s = redis.call('HMGET', key, 'available', 'ts')
+              local available = tonumber(s[1]) or capacity
+              local ts = tonumber(s[2]) or now
+              if now > ts then
+                available = math.min(capacity, available + (now - ts) * capacity / 60000)
+                ts = now
+              end
+              return available, ts
+            end
+            local function waitFor(available, ts, capacity, cost)
+              local pause = math.max(0, ts - now)
+              local deficit = math.min(cost, capacity) - available
+              if deficit <= 0 then return pause end
+              return pause + math.ceil(deficit * 60000 / capacity)
+            end
+            local reqCap = tonumber(ARGV[1])
+            local tokCap = tonumber(ARGV[2])
+            local cost = tonumber(ARGV[3])
+            local ra, rts = load(KEYS[1], reqCap)
+            local ta, tts = load(KEYS[2], tokCap)
+            local wait = math.max(waitFor(ra, rts, reqCap, 1), waitFor(ta, tts, tokCap, cost))
+            if wait > tonumber(ARGV[4]) then return -1 end
+            redis.call('HSET', KEYS[1], 'available', ra - 1, 'ts', rts)
+            redis.call('HSET', KEYS[2], 'available', ta - math.min(cost, tokCap), 'ts', tts)
+            redis.call('PEXPIRE', KEYS[1], 120000 + wait)
+            redis.call('PEXPIRE', KEYS[2], 120000 + wait)
+            return wait
+            """, Long.class);
+
+    // KEYS: request bucket, token bucket. ARGV: pause ms.
+    private static final RedisScript<Long> PAUSE_SCRIPT = new DefaultRedisScript<>("""
+            local t = redis.call('TIME')
+            local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+            local untilTs = now + tonumber(ARGV[1])
+            for i = 1, 2 do
+              local s = redis.call('HMGET', KEYS[i], 'available', 'ts')
+              local available = math.min(tonumber(s[1]) or 0, 0)
+              local ts = math.max(tonumber(s[2]) or now, untilTs)
+              redis.call('HSET', KEYS[i], 'available', available, 'ts', ts)
+              redis.call('PEXPIRE', KEYS[i], 120000 + tonumber(ARGV[1]))
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final List<String> keys;
+    private final int requestsPerMinute;
+    private final int tokensPerMinute;
+    private final long maxWaitMs;
+
+    public RedisGeminiRateLimiter(StringRedisTemplate redisTemplate, String keyPrefix,
+                                  int requestsPerMinute, int tokensPerMinute, int maxConcurrent, long maxWaitMs) {
+        super(requestsPerMinute, tokensPerMinute, maxConcurrent, maxWaitMs);
+        this.redisTemplate = redisTemplate;
+        this.keys = List.of(keyPrefix + "requests", keyPrefix + "tokens");
+        this.requestsPerMinute = requestsPerMinute;
+        this.tokensPerMinute = tokensPerMinute;
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    @Override
+    protected long reserve(int estimatedTokens) throws RateLimitTimeoutException {
+        Long waitMs;
+        try {
+            waitMs = redisTemplate.execute(RESERVE_SCRIPT, keys,
+                    String.valueOf(requestsPerMinute), String.valueOf(tokensPerMinute),
+                    String.valueOf(estimatedTokens), String.valueOf(maxWaitMs));
+        } catch (Exception e) {
+            logger.warn("Shared Gemini quota unavailable, using local limits: {}", e.getMessage());
+            return super.reserve(estimatedTokens);
+        }
+
+        if (waitMs == null) {
+            return super.reserve(estimatedTokens);
+        }
+        if (waitMs < 0) {
+            throw new RateLimitTimeoutException("Shared Gemini quota exhausted for longer than " + maxWaitMs + " ms");
+        }
+        return TimeUnit.MILLISECONDS.toNanos(waitMs);
+    }
+
+    @Override
+    public void onThrottled(long pauseMs) {
+        super.onThrottled(pauseMs);
+        try {
+            redisTemplate.execute(PAUSE_SCRIPT, keys, String.valueOf(pauseMs));
+        } catch (Exception e) {
+            logger.warn("Could not pause shared Gemini quota: {}", e.getMessage());
+        }
+    }
+}
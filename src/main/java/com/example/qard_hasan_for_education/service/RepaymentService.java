@@ -1,16 +1,30 @@
 package com.example.qard_hasan_for_education.service;
 
 import com.example.qard_hasan_for_education.model.*;
+import com.example.qard_hasan_for_education.money.Money;
+import com.example.qard_hasan_for_education.money.MoneyMath;
+import com.example.qard_hasan_for_education.repository.LoanRepository;
+import com.example.qard_hasan_for_education.support.PortfolioTotals;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
 public class RepaymentService {
@@ -23,6 +37,22 @@ public class RepaymentService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PaymentGateway paymentGateway;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Value("${loan.portfolio.page-size:10000}")
+    private int portfolioPageSize;
+
+    // Payments of one batch waiting on the gateway at the same time
+    @Value("${payment.batch.max-in-flight:64}")
+    private int batchMaxInFlight;
+
     /**
      * Create a new loan account from approved application - STATELESS
      */
@@ -44,47 +74,171 @@ public class RepaymentService {
         logger.info("Loan account created: {} for student: {}, amount: {}, term: {} months",
                 loanAccount.getLoanId(), loanAccount.getStudentId(), loanAmount, termMonths);
 
-        return loanAccount; // ✅ Just return, don't store
+        // Kept only for the portfolio dashboard; the client still owns the loan state
+        loanRepository.saveLoan(loanAccount);
+        return loanAccount;
     }
 
     /**
-     * Calculate repayment result - STATELESS (no actual processing/storage)
+     * Calculate repayment result - STATELESS (no actual processing/storage).
+     * Waits for the gateway; prefer calculateRepaymentAsync on request threads.
      */
     public PaymentResult calculateRepayment(String loanId, BigDecimal amount, String paymentMethod,
                                             LoanAccount loanAccount) throws Exception {
+        RepaymentTransaction transaction = createTransaction(loanId, amount, paymentMethod, loanAccount);
+        boolean paymentSuccessful = chargeTimed(loanId, amount, paymentMethod).get();
+        return completeRepayment(loanId, amount, loanAccount, transaction, paymentSuccessful);
+    }
+
+    /**
+     * Same as calculateRepayment, but returns as soon as the payment is sent to the gateway.
+     * Validation errors and declined payments complete the future exceptionally.
+     */
+    public CompletableFuture<PaymentResult> calculateRepaymentAsync(String loanId, BigDecimal amount,
+                                                                    String paymentMethod, LoanAccount loanAccount) {
+        RepaymentTransaction transaction;
+        try {
+            transaction = createTransaction(loanId, amount, paymentMethod, loanAccount);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return chargeTimed(loanId, amount, paymentMethod).thenCompose(paymentSuccessful -> {
+            try {
+                return CompletableFuture.completedFuture(
+                        completeRepayment(loanId, amount, loanAccount, transaction, paymentSuccessful));
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+    }
+
+    /**
+     * Calculate many repayments at once - STATELESS. Each instruction is validated and charged on its own,
+     * with at most payment.batch.max-in-flight charges outstanding, and gets its own result in input order;
+     * one failing payment does not fail the batch. A loan account may appear only once per batch, since every
+     * instruction carries the loan state from before the batch: later duplicates are rejected. Duplicates are
+     * keyed on the posted account's own loanId; items whose loanId doesn't match it are rejected by validation.
+     */
+    public CompletableFuture<List<BatchItemResult>> calculateRepaymentBatch(List<PaymentInstruction> instructions) {
+        logger.info("Calculating repayment batch of {} payments", instructions.size());
+
+        BatchItemResult[] results = new BatchItemResult[instructions.size()];
+        Set<String> seenLoanIds = new HashSet<>();
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < instructions.size(); i++) {
+            PaymentInstruction instruction = instructions.get(i);
+            String loanId = instruction.getLoanAccount() != null ? instruction.getLoanAccount().getLoanId() : null;
+            if (loanId != null && loanId.equals(instruction.getLoanId()) && !seenLoanIds.add(loanId)) {
+                results[i] = BatchItemResult.failed(i, loanId, "Duplicate loan in batch: " + loanId);
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        // A fixed number of lanes, each starting the next payment when its previous one completes:
+        // bounds the gateway load without blocking a thread per waiting payment
+        AtomicInteger next = new AtomicInteger();
+        int lanes = Math.max(1, Math.min(batchMaxInFlight, accepted.size()));
+        CompletableFuture<?>[] laneFutures = new CompletableFuture<?>[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            laneFutures[lane] = runLane(instructions, accepted, next, results);
+        }
+        return CompletableFuture.allOf(laneFutures).thenApply(done -> Arrays.asList(results));
+    }
+
+    private CompletableFuture<Void> runLane(List<PaymentInstruction> instructions, List<Integer> accepted,
+                                            AtomicInteger next, BatchItemResult[] results) {
+        while (true) {
+            int position = next.getAndIncrement();
+            if (position >= accepted.size()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            int index = accepted.get(position);
+            PaymentInstruction instruction = instructions.get(index);
+            CompletableFuture<Void> item = calculateRepaymentAsync(instruction.getLoanId(), instruction.getAmount(),
+                            instruction.getPaymentMethod(), instruction.getLoanAccount())
+                    .handle((result, error) -> {
+                        results[index] = error == null
+                                ? BatchItemResult.succeeded(index, instruction.getLoanId(), result)
+                                : BatchItemResult.failed(index, instruction.getLoanId(), rootMessage(error));
+                        return null;
+                    });
+            // Items rejected by validation finish at once; loop over them instead of recursing
+            if (!item.isDone()) {
+                return item.thenCompose(done -> runLane(instructions, accepted, next, results));
+            }
+        }
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && (cause instanceof CompletionException
+                || cause instanceof ExecutionException)) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    private RepaymentTransaction createTransaction(String loanId, BigDecimal amount, String paymentMethod,
+                                                   LoanAccount loanAccount) throws Exception {
         logger.info("Calculating repayment for loan: {}, amount: {}", loanId, amount);
 
         if (loanAccount == null) {
             throw new Exception("Loan account not found: " + loanId);
         }
 
+        if (loanId == null || !loanId.equals(loanAccount.getLoanId())) {
+            throw new Exception("Loan account " + loanAccount.getLoanId() + " does not match loan: " + loanId);
+        }
+
         if (loanAccount.getLoanStatus() != LoanStatus.ACTIVE) {
             throw new Exception("Loan is not active. Current status: " + loanAccount.getLoanStatus());
         }
 
-        // Validate payment amount
-        if (amount.compareTo(loanAccount.getMonthlyInstallment()) < 0) {
-            throw new Exception("Payment amount is less than required installment: " + loanAccount.getMonthlyInstallment());
+        if (amount == null) {
+            throw new Exception("Payment amount is required");
+        }
+
+        // Validate payment amount against what is due now (the last installment may differ by the rounding)
+        BigDecimal amountDue = calculateAmountDue(loanAccount);
+        if (amount.compareTo(amountDue) < 0) {
+            throw new Exception("Payment amount is less than required installment: " + amountDue);
         }
 
         // Create transaction record (but don't store it)
-        RepaymentTransaction transaction = new RepaymentTransaction(
+        return new RepaymentTransaction(
                 loanId,
                 loanAccount.getStudentId(),
                 amount,
                 loanAccount.getCompletedInstallments() + 1,
                 paymentMethod
         );
+    }
 
-        // Simulate payment success
-        boolean paymentSuccessful = simulatePaymentGateway();
+    private CompletableFuture<Boolean> chargeTimed(String loanId, BigDecimal amount, String paymentMethod) {
+        Timer.Sample gatewaySample = Timer.start(meterRegistry);
+        return paymentGateway.charge(loanId, amount, paymentMethod).whenComplete((paymentSuccessful, error) ->
+                gatewaySample.stop(Timer.builder("payment.gateway")
+                        .description("Payment gateway round trip")
+                        .tag("method", String.valueOf(paymentMethod))
+                        .tag("outcome", error != null ? "error" : paymentSuccessful ? "success" : "failure")
+                        .register(meterRegistry)));
+    }
 
+    private PaymentResult completeRepayment(String loanId, BigDecimal amount, LoanAccount loanAccount,
+                                            RepaymentTransaction transaction, boolean paymentSuccessful) throws Exception {
         if (paymentSuccessful) {
             transaction.setStatus(PaymentStatus.COMPLETED);
 
-            // Calculate updated loan state (but don't persist it)
+            // Calculate updated loan state for the client, which still owns it
             LoanAccount updatedLoanAccount = calculateUpdatedLoanAccount(loanAccount, amount);
 
+            // The dashboard's copy advances from its own stored state; nothing the client posted is written
+            LoanAccount storedLoan = loanRepository.findLoan(loanId);
+            if (storedLoan != null && storedLoan.getLoanStatus() == LoanStatus.ACTIVE) {
+                loanRepository.saveLoan(calculateUpdatedLoanAccount(storedLoan, amount));
+            }
+
             // Calculate mentoring eligibility
             boolean mentoringEligible = updatedLoanAccount.isEligibleForMentoring();
             String offerId = null;
@@ -113,7 +267,7 @@ public class RepaymentService {
 
         Map<String, Object> paymentInfo = new HashMap<>();
         paymentInfo.put("dueDate", loanAccount.getNextPaymentDate());
-        paymentInfo.put("amount", loanAccount.getMonthlyInstallment());
+        paymentInfo.put("amount", calculateAmountDue(loanAccount));
         paymentInfo.put("remainingBalance", loanAccount.getRemainingBalance());
         paymentInfo.put("installmentNumber", loanAccount.getCompletedInstallments() + 1);
         paymentInfo.put("totalInstallments", loanAccount.getTotalInstallments());
@@ -130,40 +284,34 @@ public class RepaymentService {
      * Calculate loan dashboard data - STATELESS
      */
     public Map<String, Object> calculateLoanDashboard(List<LoanAccount> loans) {
-        Map<String, Object> dashboard = new HashMap<>();
-        dashboard.put("totalLoans", loans.size());
-
-        // Calculate totals
-        BigDecimal totalPrincipal = BigDecimal.ZERO;
-        BigDecimal totalRemaining = BigDecimal.ZERO;
-        int totalCompletedPayments = 0;
-        int totalUpcomingPayments = 0;
-
+        PortfolioTotals totals = new PortfolioTotals(EnumSet.noneOf(PortfolioTotals.Breakdown.class));
         for (LoanAccount loan : loans) {
-            totalPrincipal = totalPrincipal.add(loan.getPrincipalAmount());
-            totalRemaining = totalRemaining.add(loan.getRemainingBalance());
-            totalCompletedPayments += loan.getCompletedInstallments();
-            totalUpcomingPayments += (loan.getTotalInstallments() - loan.getCompletedInstallments());
+            totals.add(loan);
         }
 
-        dashboard.put("totalPrincipal", totalPrincipal);
-        dashboard.put("totalRemaining", totalRemaining);
-        dashboard.put("totalPaid", totalPrincipal.subtract(totalRemaining));
-        dashboard.put("completedPayments", totalCompletedPayments);
-        dashboard.put("upcomingPayments", totalUpcomingPayments);
+        Map<String, Object> dashboard = totals.toMap();
         dashboard.put("loans", loans);
+        return dashboard;
+    }
 
-        // Calculate repayment progress
-        if (totalPrincipal.compareTo(BigDecimal.ZERO) > 0) {
-            BigDecimal progressPercentage = totalPrincipal.subtract(totalRemaining)
-                    .divide(totalPrincipal, 4, BigDecimal.ROUND_HALF_UP)
-                    .multiply(BigDecimal.valueOf(100));
-            dashboard.put("repaymentProgress", progressPercentage);
-        } else {
-            dashboard.put("repaymentProgress", BigDecimal.ZERO);
+    /**
+     * Dashboard over every stored loan, with the requested breakdowns. Only the aggregates are returned.
+     * Pages of portfolioPageSize loans are read from the store one after another, each folded in parallel
+     * and merged into the running totals, so at most one page is in memory at a time.
+     */
+    public Map<String, Object> calculatePortfolioDashboard(Set<PortfolioTotals.Breakdown> breakdowns) {
+        PortfolioTotals totals = new PortfolioTotals(breakdowns);
+        try (Stream<List<LoanAccount>> pages = loanRepository.streamLoanPages(portfolioPageSize)) {
+            pages.forEach(page -> totals.combine(summarizePortfolio(page.stream(), breakdowns)));
         }
+        return totals.toMap();
+    }
 
-        return dashboard;
+    /**
+     * Folds the loans in parallel, each worker into its own PortfolioTotals, merged at the end - STATELESS
+     */
+    public PortfolioTotals summarizePortfolio(Stream<LoanAccount> loans, Set<PortfolioTotals.Breakdown> breakdowns) {
+        return loans.parallel().collect(PortfolioTotals.collector(breakdowns));
     }
 
     /**
@@ -197,35 +345,85 @@ public class RepaymentService {
     /**
      * Calculate payment schedule - STATELESS
      */
-    public List<Map<String, Object>> calculatePaymentSchedule(LoanAccount loanAccount) {
-        List<Map<String, Object>> schedule = new ArrayList<>();
+    public List<Installment> calculatePaymentSchedule(LoanAccount loanAccount) {
+        return calculatePaymentSchedule(loanAccount, 0, Integer.MAX_VALUE);
+    }
 
+    /**
+     * One page of the payment schedule: up to limit installments, skipping the first offset - STATELESS
+     */
+    public List<Installment> calculatePaymentSchedule(LoanAccount loanAccount, int offset, int limit) {
+        return paymentSchedule(loanAccount, offset, limit).toList();
+    }
+
+    /**
+     * Number of installments left in the schedule, without building it - STATELESS
+     */
+    public int countRemainingInstallments(LoanAccount loanAccount) {
         if (loanAccount == null) {
-            return schedule;
+            return 0;
         }
+        return remainingInstallments(loanAccount,
+                Money.toMinor(loanAccount.getRemainingBalance()),
+                Money.toMinor(loanAccount.getMonthlyInstallment()));
+    }
 
-        LocalDate currentDate = loanAccount.getNextPaymentDate();
-        BigDecimal remainingBalance = loanAccount.getRemainingBalance();
-
-        for (int i = loanAccount.getCompletedInstallments() + 1; i <= loanAccount.getTotalInstallments(); i++) {
-            Map<String, Object> installment = new HashMap<>();
-            installment.put("installmentNumber", i);
-            installment.put("dueDate", currentDate);
-            installment.put("amount", loanAccount.getMonthlyInstallment());
-            installment.put("remainingBalanceAfter", remainingBalance.subtract(loanAccount.getMonthlyInstallment()));
-            installment.put("status", "PENDING");
+    /**
+     * The payment schedule as a lazy stream. Each installment is computed from its position, so
+     * skipping to a page costs nothing and only the rows actually consumed are created.
+     * The monthly installment is rounded to cents, so the last installment pays whatever is left
+     * rather than one more rounded installment - STATELESS
+     */
+    public Stream<Installment> paymentSchedule(LoanAccount loanAccount, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must not be negative");
+        }
+        if (loanAccount == null) {
+            return Stream.empty();
+        }
 
-            schedule.add(installment);
+        long remainingBalance = Money.toMinor(loanAccount.getRemainingBalance());
+        long monthlyInstallment = Money.toMinor(loanAccount.getMonthlyInstallment());
+        int count = remainingInstallments(loanAccount, remainingBalance, monthlyInstallment);
+        int from = Math.min(offset, count);
+        int to = from + Math.min(limit, count - from);
+
+        int firstNumber = loanAccount.getCompletedInstallments() + 1;
+        BigDecimal monthlyAmount = Money.toDecimal(monthlyInstallment);
+
+        return IntStream.range(from, to).mapToObj(k -> {
+            boolean last = k == count - 1;
+            long paidBefore = Math.multiplyExact(monthlyInstallment, (long) k);
+            long balanceAfter = last ? 0L : MoneyMath.subtract(remainingBalance, paidBefore + monthlyInstallment);
+            BigDecimal amount = last ? Money.toDecimal(MoneyMath.subtract(remainingBalance, paidBefore)) : monthlyAmount;
+            return new Installment(firstNumber + k, loanAccount.dueDateOf(firstNumber + k), amount,
+                    Money.toDecimal(balanceAfter), PaymentStatus.PENDING);
+        });
+    }
 
-            currentDate = currentDate.plusMonths(1);
-            remainingBalance = remainingBalance.subtract(loanAccount.getMonthlyInstallment());
+    /**
+     * Amount of the next installment: the monthly installment, or the remainder for the last one - STATELESS
+     */
+    public BigDecimal calculateAmountDue(LoanAccount loanAccount) {
+        return paymentSchedule(loanAccount, 0, 1)
+                .findFirst()
+                .map(Installment::amount)
+                .orElse(BigDecimal.ZERO);
+    }
 
-            if (remainingBalance.compareTo(BigDecimal.ZERO) <= 0) {
-                break;
-            }
+    /**
+     * Installments left: whole monthly installments needed to clear the balance, but never past the loan term
+     */
+    private int remainingInstallments(LoanAccount loanAccount, long remainingBalance, long monthlyInstallment) {
+        int left = loanAccount.getTotalInstallments() - loanAccount.getCompletedInstallments();
+        if (left <= 0 || remainingBalance <= 0) {
+            return 0;
         }
-
-        return schedule;
+        if (monthlyInstallment <= 0) {
+            return left;
+        }
+        long needed = MoneyMath.divide(remainingBalance, monthlyInstallment, RoundingMode.CEILING);
+        return (int) Math.min(left, needed);
     }
 
     /**
@@ -239,10 +437,12 @@ public class RepaymentService {
         }
 
         // Calculate totals
-        BigDecimal totalPaid = transactions.stream()
-                .filter(t -> t.getStatus() == PaymentStatus.COMPLETED)
-                .map(RepaymentTransaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long totalPaid = 0L;
+        for (RepaymentTransaction transaction : transactions) {
+            if (transaction.getStatus() == PaymentStatus.COMPLETED) {
+                totalPaid = MoneyMath.add(totalPaid, Money.toMinor(transaction.getAmount()));
+            }
+        }
 
         long completedPayments = transactions.stream()
                 .filter(t -> t.getStatus() == PaymentStatus.COMPLETED)
@@ -255,12 +455,12 @@ public class RepaymentService {
         summary.put("totalTransactions", transactions.size());
         summary.put("completedPayments", completedPayments);
         summary.put("failedPayments", failedPayments);
-        summary.put("totalAmountPaid", totalPaid);
+        summary.put("totalAmountPaid", Money.toDecimal(totalPaid));
         summary.put("transactions", transactions);
 
         if (loanAccount != null) {
             summary.put("remainingBalance", loanAccount.getRemainingBalance());
-            summary.put("nextPaymentAmount", loanAccount.getMonthlyInstallment());
+            summary.put("nextPaymentAmount", calculateAmountDue(loanAccount));
             summary.put("nextPaymentDate", loanAccount.getNextPaymentDate());
         }
 
@@ -290,14 +490,16 @@ public class RepaymentService {
         updatedLoan.setCreatedAt(originalLoan.getCreatedAt());
 
         // Calculate updated values
-        updatedLoan.setRemainingBalance(originalLoan.getRemainingBalance().subtract(paymentAmount));
+        long remainingBalance = MoneyMath.subtract(Money.toMinor(originalLoan.getRemainingBalance()),
+                Money.toMinor(paymentAmount));
+        updatedLoan.setRemainingBalance(Money.toDecimal(remainingBalance));
         updatedLoan.setCompletedInstallments(originalLoan.getCompletedInstallments() + 1);
-        updatedLoan.setNextPaymentDate(originalLoan.getNextPaymentDate().plusMonths(1));
+        updatedLoan.setNextPaymentDate(originalLoan.dueDateOf(updatedLoan.getCompletedInstallments() + 1));
         updatedLoan.setUpdatedAt(LocalDateTime.now());
 
         // Check if loan is completed
         if (updatedLoan.getCompletedInstallments() >= updatedLoan.getTotalInstallments() ||
-                updatedLoan.getRemainingBalance().compareTo(BigDecimal.ZERO) <= 0) {
+                remainingBalance <= 0) {
             updatedLoan.setLoanStatus(LoanStatus.COMPLETED);
             updatedLoan.setRemainingBalance(BigDecimal.ZERO);
         } else {
@@ -332,17 +534,6 @@ public class RepaymentService {
         return null;
     }
 
-    private boolean simulatePaymentGateway() {
-        // Simulate payment gateway processing
-        try {
-            Thread.sleep(100); // Reduce simulation time
-            return Math.random() < 0.95; // 95% success rate
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
-        }
-    }
-
     private String determineUniversityCountry(String universityName) {
         // Simple mapping - in real implementation, use a comprehensive database
         Map<String, String> universityCountryMap = Map.of(
@@ -356,7 +547,7 @@ public class RepaymentService {
                 "National University of Singapore", "Singapore"
         );
 
-        return universityCountryMap.getOrDefault(universityName, "Unknown");
+        return universityCountryMap.getOrDefault(universityName, LoanAccount.UNKNOWN);
     }
 
     /**
@@ -381,4 +572,56 @@ public class RepaymentService {
         public boolean isMentoringOfferSent() { return mentoringOfferSent; }
         public String getOfferId() { return offerId; }
     }
-}
\ No newline at end of file
+
+    public static class PaymentInstruction {
+        private final String loanId;
+        private final BigDecimal amount;
+        private final String paymentMethod;
+        private final LoanAccount loanAccount;
+
+        public PaymentInstruction(String loanId, BigDecimal amount, String paymentMethod, LoanAccount loanAccount) {
+            this.loanId = loanId;
+            this.amount = amount;
+            this.paymentMethod = paymentMethod;
+            this.loanAccount = loanAccount;
+        }
+
+        public String getLoanId() { return loanId; }
+        public BigDecimal getAmount() { return amount; }
+        public String getPaymentMethod() { return paymentMethod; }
+        public LoanAccount getLoanAccount() { return loanAccount; }
+    }
+
+    /**
+     * Outcome of one batch item: the payment result when it went through, the error message otherwise
+     */
+    public static class BatchItemResult {
+        private final int index;
+        private final String loanId;
+        private final boolean success;
+        private final String message;
+        private final PaymentResult result;
+
+        private BatchItemResult(int index, String loanId, boolean success, String message, PaymentResult result) {
+            this.index = index;
+            this.loanId = loanId;
+            this.success = success;
+            this.message = message;
+            this.result = result;
+        }
+
+        static BatchItemResult succeeded(int index, String loanId, PaymentResult result) {
+            return new BatchItemResult(index, loanId, true, "Payment calculated successfully", result);
+        }
+
+        static BatchItemResult failed(int index, String loanId, String message) {
+            return new BatchItemResult(index, loanId, false, message, null);
+        }
+
+        public int getIndex() { return index; }
+        public String getLoanId() { return loanId; }
+        public boolean isSuccess() { return success; }
+        public String getMessage() { return message; }
+        public PaymentResult getResult() { return result; }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.qard_hasan_for_education.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in gateway: answers after a fixed latency and declines a given share of payments.
+ * The wait is a scheduled completion, not a sleep, so no thread is held while a payment is "in flight".
+ * With a seed the sequence of approvals and declines is repeatable (for a given call order).
+ */
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private final Executor delayed;
+    private final double failureRate;
+    private final Random random;
+
+    public SimulatedPaymentGateway(Duration latency, double failureRate, Long seed) {
+        if (failureRate < 0.0 || failureRate > 1.0) {
+            throw new IllegalArgumentException("failureRate must be between 0 and 1");
+        }
+        this.delayed = CompletableFuture.delayedExecutor(latency.toMillis(), TimeUnit.MILLISECONDS);
+        this.failureRate = failureRate;
+        this.random = seed != null ? new Random(seed) : new Random();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> charge(String loanId, BigDecimal amount, String paymentMethod) {
+        // Decide now so the outcome follows call order, not completion order
+        boolean approved = random.nextDouble() >= failureRate;
+        return CompletableFuture.supplyAsync(() -> approved, delayed);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.qard_hasan_for_education.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Copy of an uploaded file kept in a temp file, so it can be processed after the request that
+ * uploaded it has finished (the servlet container deletes its own upload parts at that point).
+ */
+class StoredMultipartFile implements MultipartFile {
+
+    private final String name;
+    private final String originalFilename;
+    private final String contentType;
+    private final Path path;
+    private final long size;
+
+    private StoredMultipartFile(String name, String originalFilename, String contentType, Path path, long size) {
+        this.name = name;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.path = path;
+        this.size = size;
+    }
+
+    static StoredMultipartFile copyOf(MultipartFile source) throws IOException {
+        Path path = Files.createTempFile("qard-upload-", ".tmp");
+        try (InputStream in = source.getInputStream()) {
+            Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        return new StoredMultipartFile(source.getName(), source.getOriginalFilename(),
+                source.getContentType(), path, Files.size(path));
+    }
+
+    void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // Temp directory cleanup will get it eventually
+        }
+    }
+
+    @Override
+    public String getName() { return name; }
+
+    @Override
+    public String getOriginalFilename() { return originalFilename; }
+
+    @Override
+    public String getContentType() { return contentType; }
+
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    @Override
+    public long getSize() { return size; }
+
+    @Override
+    public byte[] getBytes() throws IOException { return Files.readAllBytes(path); }
+
+    @Override
+    public InputStream getInputStream() throws IOException { return Files.newInputStream(path); }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
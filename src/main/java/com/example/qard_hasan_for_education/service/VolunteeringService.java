@@ -2,6 +2,8 @@ package com.example.qard_hasan_for_education.service;
 
 import com.example.qard_hasan_for_education.model.*;
 import com.example.qard_hasan_for_education.model.individual.SimpleBankInfo;
+import com.example.qard_hasan_for_education.support.MenteePriority;
+import com.example.qard_hasan_for_education.support.TopN;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -16,6 +18,8 @@ public class VolunteeringService {
 
     private static final Logger logger = LoggerFactory.getLogger(VolunteeringService.class);
 
+    static final int POTENTIAL_MENTEES_LIMIT = 10;
+
     /**
      * Calculate mentor profile creation from offer acceptance - STATELESS
      */
@@ -137,14 +141,20 @@ public class VolunteeringService {
                 .map(MentorshipMatch::getMenteeId)
                 .collect(Collectors.toSet());
 
-        // Filter potential mentees
-        List<MenteeProfile> potentialMentees = allMentees.stream()
-                .filter(mentee -> !alreadyMatchedIds.contains(mentee.getMenteeId()))
-                .filter(mentee -> mentee.isNeedsMentor())
-                .filter(mentee -> isCompatibleMatch(mentor, mentee, helpTypes))
-                .sorted(this::prioritizeMentees)
-                .limit(10) // Return top 10 matches
-                .collect(Collectors.toList());
+        // Filter potential mentees: one mask intersection per mentee, and a bounded heap
+        // keeps the top matches instead of sorting every compatible mentee
+        long wanted = HelpType.mask(helpTypes != null ? helpTypes : mentor.getAvailableHelpTypes());
+        TopN<MenteeProfile> top = new TopN<>(POTENTIAL_MENTEES_LIMIT, MenteePriority.ORDER);
+        if (wanted != 0L) {
+            for (MenteeProfile mentee : allMentees) {
+                if (mentee.isNeedsMentor()
+                        && (HelpType.mask(mentee.getNeededHelpTypes()) & wanted) != 0L
+                        && !alreadyMatchedIds.contains(mentee.getMenteeId())) {
+                    top.offer(mentee);
+                }
+            }
+        }
+        List<MenteeProfile> potentialMentees = top.toList();
 
         logger.info("Found {} potential mentees for mentor: {}", potentialMentees.size(), mentor.getMentorId());
 
@@ -314,11 +324,10 @@ public class VolunteeringService {
 
         // Help type overlap (40% weight)
         if (mentor.getAvailableHelpTypes() != null && mentee.getNeededHelpTypes() != null) {
-            Set<HelpType> mentorTypes = new HashSet<>(mentor.getAvailableHelpTypes());
-            Set<HelpType> menteeNeeds = new HashSet<>(mentee.getNeededHelpTypes());
-            mentorTypes.retainAll(menteeNeeds);
-            if (!menteeNeeds.isEmpty()) {
-                double helpTypeOverlap = (double) mentorTypes.size() / menteeNeeds.size();
+            long menteeNeeds = HelpType.mask(mentee.getNeededHelpTypes());
+            if (menteeNeeds != 0L) {
+                long overlap = HelpType.mask(mentor.getAvailableHelpTypes()) & menteeNeeds;
+                double helpTypeOverlap = (double) Long.bitCount(overlap) / Long.bitCount(menteeNeeds);
                 compatibility += helpTypeOverlap * 0.4;
             }
         }
@@ -385,30 +394,6 @@ public class VolunteeringService {
         return copy;
     }
 
-    private boolean isCompatibleMatch(MentorProfile mentor, MenteeProfile mentee, List<HelpType> helpTypes) {
-        // Check if mentor can provide help types that mentee needs
-        List<HelpType> effectiveHelpTypes = helpTypes != null ? helpTypes : mentor.getAvailableHelpTypes();
-        if (effectiveHelpTypes == null || mentee.getNeededHelpTypes() == null) {
-            return false;
-        }
-        return mentee.getNeededHelpTypes().stream()
-                .anyMatch(effectiveHelpTypes::contains);
-    }
-
-    private int prioritizeMentees(MenteeProfile a, MenteeProfile b) {
-        // Prioritize by urgency, then by creation date
-        if (a.getUrgencyLevel() != null && b.getUrgencyLevel() != null) {
-            int urgencyCompare = Integer.compare(b.getUrgencyLevel(), a.getUrgencyLevel());
-            if (urgencyCompare != 0) return urgencyCompare;
-        }
-
-        if (a.getCreatedAt() != null && b.getCreatedAt() != null) {
-            return a.getCreatedAt().compareTo(b.getCreatedAt());
-        }
-
-        return 0;
-    }
-
     private boolean isEligibleForMentoringOffer(LoanAccount loanAccount, RepaymentTransaction transaction) {
         // Student is eligible if they've made a payment and are in good standing
         // Fixed: Use correct enum value - COMPLETED for successful payments
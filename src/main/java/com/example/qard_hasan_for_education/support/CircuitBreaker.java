@@ -0,0 +1,158 @@
+package com.example.qard_hasan_for_education.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Count-based circuit breaker. Opens when the failure rate over the last windowSize calls reaches
+ * the threshold, rejects calls while open, then lets a few trial calls through (half-open) to
+ * decide whether to close again.
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private volatile State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, int failureRateThreshold,
+                          Duration openDuration, int halfOpenCalls) {
+        this.name = name;
+        this.window = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    /**
+     * Whether a call may go ahead. Every permitted call must be followed by
+     * onSuccess, onFailure or onIgnored.
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAtNanos < openDurationNanos) {
+                    return false;
+                }
+                transitionTo(State.HALF_OPEN);
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenPermits == 0) {
+                    return false;
+                }
+                halfOpenPermits--;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess() {
+        record(false);
+    }
+
+    public void onFailure() {
+        record(true);
+    }
+
+    /**
+     * The call finished but says nothing about upstream health (e.g. a rejected request).
+     */
+    public void onIgnored() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                halfOpenPermits++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        lock.lock();
+        try {
+            switch (state) {
+                case HALF_OPEN:
+                    if (failed) {
+                        open();
+                    } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                        resetWindow();
+                        transitionTo(State.CLOSED);
+                    }
+                    break;
+                case CLOSED:
+                    if (windowCount == window.length) {
+                        if (window[windowIndex]) {
+                            windowFailures--;
+                        }
+                    } else {
+                        windowCount++;
+                    }
+                    window[windowIndex] = failed;
+                    if (failed) {
+                        windowFailures++;
+                    }
+                    windowIndex = (windowIndex + 1) % window.length;
+
+                    if (windowCount >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCount) {
+                        open();
+                    }
+                    break;
+                default:
+                    // Late results of calls that started before the breaker opened
+                    break;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void open() {
+        openedAtNanos = System.nanoTime();
+        transitionTo(State.OPEN);
+    }
+
+    private void resetWindow() {
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+
+    private void transitionTo(State newState) {
+        if (state != newState) {
+            logger.warn("Circuit breaker '{}' changed from {} to {}", name, state, newState);
+            state = newState;
+        }
+    }
+}
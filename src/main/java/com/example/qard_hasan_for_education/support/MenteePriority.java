@@ -0,0 +1,35 @@
+package com.example.qard_hasan_for_education.support;
+
+import com.example.qard_hasan_for_education.model.MenteeProfile;
+
+import java.time.ZoneOffset;
+import java.util.Comparator;
+
+/**
+ * Order in which waiting mentees are offered to mentors: most urgent first, then longest waiting.
+ * Mentees without an urgency or creation time go after those with one.
+ */
+public final class MenteePriority {
+
+    public static final Comparator<MenteeProfile> ORDER = Comparator
+            .comparing(MenteeProfile::getUrgencyLevel, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(MenteeProfile::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    // Spacing between urgency levels in score(); larger than any epoch-millisecond value we will see
+    private static final double URGENCY_STEP = 1e13;
+
+    private MenteePriority() {
+    }
+
+    /**
+     * Single number for the same order (higher first), e.g. for a Redis sorted set score.
+     * Exact: the largest score stays well below 2^53.
+     */
+    public static double score(MenteeProfile mentee) {
+        int urgency = mentee.getUrgencyLevel() != null ? mentee.getUrgencyLevel() : 0;
+        long createdAt = mentee.getCreatedAt() != null
+                ? mentee.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli()
+                : (long) URGENCY_STEP - 1;
+        return urgency * URGENCY_STEP + (URGENCY_STEP - 1 - createdAt);
+    }
+}
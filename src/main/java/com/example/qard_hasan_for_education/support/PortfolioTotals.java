@@ -0,0 +1,137 @@
+package com.example.qard_hasan_for_education.support;
+
+import com.example.qard_hasan_for_education.model.LoanAccount;
+import com.example.qard_hasan_for_education.money.Money;
+import com.example.qard_hasan_for_education.money.MoneyMath;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * Running totals over a loan portfolio, kept in cents, optionally also per university country,
+ * program or loan status. add and combine are associative, so a parallel stream can fold each
+ * partition on its own and merge the results: loans.parallel().collect(PortfolioTotals.collector(...)).
+ * Not thread-safe; the collector gives every partition its own instance.
+ */
+public class PortfolioTotals {
+
+    public enum Breakdown {
+        UNIVERSITY_COUNTRY("byUniversityCountry", LoanAccount::getUniversityCountry),
+        PROGRAM("byProgram", LoanAccount::getProgram),
+        LOAN_STATUS("byLoanStatus", loan -> loan.getLoanStatus() != null ? loan.getLoanStatus().name() : null);
+
+        private final String field;
+        private final Function<LoanAccount, String> key;
+
+        Breakdown(String field, Function<LoanAccount, String> key) {
+            this.field = field;
+            this.key = key;
+        }
+
+        public String getField() { return field; }
+
+        String keyOf(LoanAccount loan) {
+            String value = key.apply(loan);
+            // Same bucket as the country createLoanAccount records for an unmapped university
+            return value != null ? value : LoanAccount.UNKNOWN;
+        }
+    }
+
+    private final Set<Breakdown> breakdowns;
+    private final Totals overall = new Totals();
+    private final Map<Breakdown, Map<String, Totals>> groups = new EnumMap<>(Breakdown.class);
+
+    public PortfolioTotals(Set<Breakdown> breakdowns) {
+        this.breakdowns = breakdowns.isEmpty() ? EnumSet.noneOf(Breakdown.class) : EnumSet.copyOf(breakdowns);
+        for (Breakdown breakdown : this.breakdowns) {
+            groups.put(breakdown, new HashMap<>());
+        }
+    }
+
+    public static Collector<LoanAccount, PortfolioTotals, PortfolioTotals> collector(Set<Breakdown> breakdowns) {
+        return Collector.of(() -> new PortfolioTotals(breakdowns), PortfolioTotals::add, PortfolioTotals::combine);
+    }
+
+    public void add(LoanAccount loan) {
+        overall.add(loan);
+        for (Breakdown breakdown : breakdowns) {
+            groups.get(breakdown).computeIfAbsent(breakdown.keyOf(loan), k -> new Totals()).add(loan);
+        }
+    }
+
+    public PortfolioTotals combine(PortfolioTotals other) {
+        overall.combine(other.overall);
+        other.groups.forEach((breakdown, otherGroups) -> {
+            Map<String, Totals> mine = groups.get(breakdown);
+            otherGroups.forEach((key, totals) -> mine.merge(key, totals, Totals::combine));
+        });
+        return this;
+    }
+
+    public long getLoanCount() {
+        return overall.loans;
+    }
+
+    /**
+     * The dashboard fields (totalLoans, totalPrincipal, ..., repaymentProgress), plus one map per
+     * requested breakdown, keyed by group in name order, with the same fields per group
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> result = overall.toMap();
+        groups.forEach((breakdown, byKey) -> {
+            Map<String, Object> grouped = new TreeMap<>();
+            byKey.forEach((key, totals) -> grouped.put(key, totals.toMap()));
+            result.put(breakdown.getField(), grouped);
+        });
+        return result;
+    }
+
+    private static final class Totals {
+        private long loans;
+        private long principal;
+        private long remaining;
+        private long completedPayments;
+        private long upcomingPayments;
+
+        void add(LoanAccount loan) {
+            loans++;
+            principal = MoneyMath.add(principal, Money.toMinor(loan.getPrincipalAmount()));
+            remaining = MoneyMath.add(remaining, Money.toMinor(loan.getRemainingBalance()));
+            completedPayments += loan.getCompletedInstallments();
+            upcomingPayments += loan.getTotalInstallments() - loan.getCompletedInstallments();
+        }
+
+        Totals combine(Totals other) {
+            loans += other.loans;
+            principal = MoneyMath.add(principal, other.principal);
+            remaining = MoneyMath.add(remaining, other.remaining);
+            completedPayments += other.completedPayments;
+            upcomingPayments += other.upcomingPayments;
+            return this;
+        }
+
+        Map<String, Object> toMap() {
+            long paid = MoneyMath.subtract(principal, remaining);
+            Map<String, Object> map = new HashMap<>();
+            map.put("totalLoans", loans);
+            map.put("totalPrincipal", Money.toDecimal(principal));
+            map.put("totalRemaining", Money.toDecimal(remaining));
+            map.put("totalPaid", Money.toDecimal(paid));
+            map.put("completedPayments", completedPayments);
+            map.put("upcomingPayments", upcomingPayments);
+            // Paid share rounded to 4 places, as a percentage (e.g. 33.3300)
+            map.put("repaymentProgress", principal > 0
+                    ? MoneyMath.percentage(paid, principal, 2, RoundingMode.HALF_UP).setScale(4)
+                    : BigDecimal.ZERO);
+            return map;
+        }
+    }
+}
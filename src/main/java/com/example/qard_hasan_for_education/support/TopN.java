@@ -0,0 +1,46 @@
+package com.example.qard_hasan_for_education.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the first n items by the given order, out of a stream offered one at a time, using a
+ * bounded heap: O(m log n) for m offers instead of sorting all m.
+ * Not thread-safe.
+ */
+public class TopN<T> {
+
+    private final int limit;
+    private final Comparator<? super T> order;
+    // Worst kept item on top, so a better offer can replace it
+    private final PriorityQueue<T> heap;
+
+    public TopN(int limit, Comparator<? super T> order) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        this.limit = limit;
+        this.order = order;
+        this.heap = new PriorityQueue<>(limit + 1, order.reversed());
+    }
+
+    public void offer(T item) {
+        if (heap.size() < limit) {
+            heap.add(item);
+        } else if (order.compare(item, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(item);
+        }
+    }
+
+    /**
+     * The kept items, best first
+     */
+    public List<T> toList() {
+        List<T> result = new ArrayList<>(heap);
+        result.sort(order);
+        return result;
+    }
+}
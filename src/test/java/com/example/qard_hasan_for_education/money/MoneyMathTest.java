@@ -0,0 +1,126 @@
+package com.example.qard_hasan_for_education.money;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * MoneyMath must round exactly like BigDecimal does, and throw rather than wrap
+ */
+class MoneyMathTest {
+
+    // Signs, exact halves, values either side of a half and the extremes
+    private static final long[][] EDGE_CASES = {
+            {7, 2}, {-7, 2}, {7, -2}, {-7, -2}, {5, 2}, {-5, 2}, {1, 3}, {-1, 3}, {2, 3}, {-2, 3},
+            {10, 4}, {-10, 4}, {11, 4}, {-11, 4}, {9, 4}, {-9, 4}, {0, 7}, {6, 3},
+            {Long.MAX_VALUE, 2}, {Long.MIN_VALUE, 2}, {Long.MAX_VALUE, -3}, {Long.MIN_VALUE, 3},
+            {Long.MAX_VALUE, Long.MAX_VALUE - 1}, {Long.MIN_VALUE, Long.MAX_VALUE},
+            {Long.MAX_VALUE, Long.MIN_VALUE}, {Long.MIN_VALUE + 1, Long.MIN_VALUE}, {Long.MIN_VALUE / 2, Long.MIN_VALUE}
+    };
+
+    @ParameterizedTest
+    @EnumSource(value = RoundingMode.class, mode = EnumSource.Mode.EXCLUDE, names = "UNNECESSARY")
+    void divideRoundsLikeBigDecimal(RoundingMode mode) {
+        for (long[] edge : EDGE_CASES) {
+            assertThat(MoneyMath.divide(edge[0], edge[1], mode))
+                    .as("%d / %d %s", edge[0], edge[1], mode)
+                    .isEqualTo(reference(edge[0], edge[1], mode));
+        }
+        Random random = new Random(23);
+        for (int i = 0; i < 20_000; i++) {
+            long numerator = i % 2 == 0 ? random.nextLong() : random.nextInt(2_000_001) - 1_000_000;
+            long denominator = i % 3 == 0 ? random.nextLong() : random.nextInt(2_001) - 1_000;
+            if (denominator == 0) {
+                continue;
+            }
+            assertThat(MoneyMath.divide(numerator, denominator, mode))
+                    .as("%d / %d %s", numerator, denominator, mode)
+                    .isEqualTo(reference(numerator, denominator, mode));
+        }
+    }
+
+    @Test
+    void divideNeedsRoundingOnlyWhenThereIsARemainder() {
+        assertThat(MoneyMath.divide(9, 3, RoundingMode.UNNECESSARY)).isEqualTo(3);
+        assertThatThrownBy(() -> MoneyMath.divide(10, 3, RoundingMode.UNNECESSARY))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> MoneyMath.divide(10, 0, RoundingMode.HALF_UP))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void overflowThrowsInsteadOfWrapping() {
+        assertThatThrownBy(() -> MoneyMath.add(Long.MAX_VALUE, 1)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> MoneyMath.subtract(Long.MIN_VALUE, 1)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> MoneyMath.divide(Long.MIN_VALUE, -1, RoundingMode.HALF_UP))
+                .isInstanceOf(ArithmeticException.class);
+        // The result itself does not fit in a long
+        assertThatThrownBy(() -> MoneyMath.applyRate(Long.MAX_VALUE, Rate.ofBasisPoints(20_000), RoundingMode.HALF_UP))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> MoneyMath.percentage(Long.MAX_VALUE, 1, 2, RoundingMode.HALF_UP))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = RoundingMode.class, mode = EnumSource.Mode.EXCLUDE, names = "UNNECESSARY")
+    void applyRateRoundsLikeBigDecimal(RoundingMode mode) {
+        long[] amounts = {0, 1, 5, 50, 99, 12_345, -12_345, 1_000_000_00, -987_654_321,
+                // Large enough that amount x ppm overflows and the BigInteger path is taken
+                Long.MAX_VALUE / 10, Long.MIN_VALUE / 10, 9_223_372_036_854_775L};
+        long[] basisPoints = {0, 1, 25, 50, 100, 333, 1_000, 5_000};
+        for (long amount : amounts) {
+            for (long bp : basisPoints) {
+                Rate rate = Rate.ofBasisPoints(bp);
+                long expected = BigDecimal.valueOf(amount)
+                        .multiply(BigDecimal.valueOf(bp).movePointLeft(4))
+                        .setScale(0, mode)
+                        .longValueExact();
+                assertThat(MoneyMath.applyRate(amount, rate, mode))
+                        .as("%d x %s %s", amount, rate, mode)
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void applyRateOfOneCentFees() {
+        // 1% of 0.50 is half a cent
+        assertThat(MoneyMath.applyRate(50, Rate.ofBasisPoints(100), RoundingMode.HALF_UP)).isEqualTo(1);
+        assertThat(MoneyMath.applyRate(50, Rate.ofBasisPoints(100), RoundingMode.HALF_EVEN)).isZero();
+        assertThat(MoneyMath.applyRate(50, Rate.ofBasisPoints(100), RoundingMode.HALF_DOWN)).isZero();
+        assertThat(MoneyMath.applyRate(-50, Rate.ofBasisPoints(100), RoundingMode.HALF_UP)).isEqualTo(-1);
+        assertThat(MoneyMath.applyRate(12_345, Rate.ZERO, RoundingMode.UP)).isZero();
+    }
+
+    @Test
+    void percentageAtTheRequestedPlaces() {
+        assertThat(MoneyMath.percentage(1, 3, 2, RoundingMode.HALF_UP)).isEqualByComparingTo("33.33");
+        assertThat(MoneyMath.percentage(2, 3, 2, RoundingMode.HALF_UP)).isEqualByComparingTo("66.67");
+        assertThat(MoneyMath.percentage(2, 3, 2, RoundingMode.DOWN)).isEqualByComparingTo("66.66");
+        assertThat(MoneyMath.percentage(1, 8, 0, RoundingMode.HALF_EVEN)).isEqualByComparingTo("12");
+        assertThat(MoneyMath.percentage(5, 0, 2, RoundingMode.HALF_UP)).isEqualByComparingTo("0");
+        assertThat(MoneyMath.percentage(1, 3, 4, RoundingMode.HALF_UP).scale()).isEqualTo(4);
+    }
+
+    @Test
+    void toMinorAndBackKeepTheAmount() {
+        assertThat(MoneyMath.toMinor(new BigDecimal("1234.56"), 2, RoundingMode.UNNECESSARY)).isEqualTo(123_456);
+        assertThat(MoneyMath.toMinor(new BigDecimal("0.125"), 2, RoundingMode.HALF_EVEN)).isEqualTo(12);
+        assertThat(MoneyMath.toMinor(new BigDecimal("-0.125"), 2, RoundingMode.HALF_UP)).isEqualTo(-13);
+        assertThat(MoneyMath.toMinor(new BigDecimal("7"), 0, RoundingMode.UNNECESSARY)).isEqualTo(7);
+        assertThat(MoneyMath.toBigDecimal(123_456, 2)).isEqualTo(new BigDecimal("1234.56"));
+        assertThatThrownBy(() -> MoneyMath.toMinor(new BigDecimal("1e20"), 2, RoundingMode.HALF_UP))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    private static long reference(long numerator, long denominator, RoundingMode mode) {
+        return BigDecimal.valueOf(numerator).divide(BigDecimal.valueOf(denominator), 0, mode).longValueExact();
+    }
+}
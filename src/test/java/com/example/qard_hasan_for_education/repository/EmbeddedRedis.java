@@ -0,0 +1,62 @@
+package com.example.qard_hasan_for_education.repository;
+
+import com.example.qard_hasan_for_education.config.AppConfig;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.UUID;
+
+/**
+ * One local redis-server for the whole test run, started on first use on a free port and stopped
+ * when the JVM exits. Tests keep apart by using their own key prefix rather than flushing.
+ */
+final class EmbeddedRedis {
+
+    private static RedisTemplate<String, Object> template;
+
+    private EmbeddedRedis() {}
+
+    /**
+     * A template configured exactly like the application's, connected to the embedded server
+     */
+    static synchronized RedisTemplate<String, Object> template() {
+        if (template == null) {
+            try {
+                int port = freePort();
+                RedisServer server = new RedisServer(port);
+                server.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        server.stop();
+                    } catch (IOException ignored) {
+                        // The process goes away with the JVM anyway
+                    }
+                }));
+
+                LettuceConnectionFactory connectionFactory =
+                        new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+                connectionFactory.afterPropertiesSet();
+                connectionFactory.start();
+                template = new AppConfig().redisTemplate(connectionFactory);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start the embedded Redis server", e);
+            }
+        }
+        return template;
+    }
+
+    static String uniquePrefix(String name) {
+        return name + ":" + UUID.randomUUID() + ":";
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.qard_hasan_for_education.repository;
+
+class InMemoryLoanRepositoryTest extends LoanRepositoryContractTest {
+
+    @Override
+    protected LoanRepository newRepository() {
+        return new InMemoryLoanRepository();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.qard_hasan_for_education.repository;
+
+class InMemoryMentorshipRepositoryTest extends MentorshipRepositoryContractTest {
+
+    @Override
+    protected MentorshipRepository newRepository() {
+        return new InMemoryMentorshipRepository();
+    }
+}
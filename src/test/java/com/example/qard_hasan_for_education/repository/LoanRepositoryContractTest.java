@@ -0,0 +1,90 @@
+package com.example.qard_hasan_for_education.repository;
+
+import com.example.qard_hasan_for_education.model.LoanAccount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Behaviour every LoanRepository must share; one subclass per store
+ */
+abstract class LoanRepositoryContractTest {
+
+    protected LoanRepository repository;
+
+    protected abstract LoanRepository newRepository();
+
+    @BeforeEach
+    void setUp() {
+        repository = newRepository();
+    }
+
+    @Test
+    void pagesAreFullExceptTheLastAndHoldEveryLoanOnce() {
+        List<String> saved = saveLoans(25);
+
+        List<List<LoanAccount>> pages = pages(10);
+
+        assertThat(pages).extracting(List::size).containsExactly(10, 10, 5);
+        assertThat(pages.stream().flatMap(List::stream).map(LoanAccount::getLoanId))
+                .containsExactlyInAnyOrderElementsOf(saved);
+    }
+
+    @Test
+    void exactMultipleOfThePageSizeEndsWithoutAnEmptyPage() {
+        saveLoans(20);
+
+        assertThat(pages(10)).extracting(List::size).containsExactly(10, 10);
+        assertThat(pages(100)).extracting(List::size).containsExactly(20);
+    }
+
+    @Test
+    void emptyStoreHasNoPages() {
+        assertThat(pages(10)).isEmpty();
+        assertThat(repository.countLoans()).isZero();
+        assertThatThrownBy(() -> repository.streamLoanPages(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void savingAgainReplacesTheLoan() {
+        LoanAccount loan = loan("LOAN_A", "1000.00");
+        repository.saveLoan(loan);
+        loan.setCompletedInstallments(3);
+        repository.saveLoan(loan);
+
+        assertThat(repository.countLoans()).isEqualTo(1);
+        assertThat(repository.findLoan("LOAN_A").getCompletedInstallments()).isEqualTo(3);
+        assertThat(pages(10)).hasSize(1);
+        assertThat(repository.findLoan("LOAN_NONE")).isNull();
+    }
+
+    protected List<List<LoanAccount>> pages(int pageSize) {
+        try (Stream<List<LoanAccount>> pages = repository.streamLoanPages(pageSize)) {
+            return pages.toList();
+        }
+    }
+
+    protected List<String> saveLoans(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> {
+                    LoanAccount loan = loan(String.format("LOAN_%04d", i), "1000.00");
+                    repository.saveLoan(loan);
+                    return loan.getLoanId();
+                })
+                .toList();
+    }
+
+    protected static LoanAccount loan(String loanId, String principal) {
+        LoanAccount loan = new LoanAccount("STU-" + loanId, "APP-" + loanId, new BigDecimal(principal), 12,
+                "Student", "Universiti Malaya", "Computer Science", "Malaysia", "Malaysian");
+        loan.setLoanId(loanId);
+        return loan;
+    }
+}
@@ -0,0 +1,309 @@
+package com.example.qard_hasan_for_education.repository;
+
+import com.example.qard_hasan_for_education.model.HelpType;
+import com.example.qard_hasan_for_education.model.MenteeProfile;
+import com.example.qard_hasan_for_education.model.MentorProfile;
+import com.example.qard_hasan_for_education.model.MentorshipMatch;
+import com.example.qard_hasan_for_education.model.MentorshipMatchStatus;
+import com.example.qard_hasan_for_education.repository.MentorshipRepository.MatchUpdate;
+import com.example.qard_hasan_for_education.repository.MentorshipRepository.Reservation;
+import com.example.qard_hasan_for_education.repository.MentorshipRepository.WaitingPosition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Behaviour every MentorshipRepository must share; one subclass per store
+ */
+abstract class MentorshipRepositoryContractTest {
+
+    protected static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 5, 9, 0);
+    private static final Set<MentorshipMatchStatus> SLOT_HOLDING =
+            EnumSet.of(MentorshipMatchStatus.ACTIVE, MentorshipMatchStatus.PAUSED);
+
+    protected MentorshipRepository repository;
+
+    protected abstract MentorshipRepository newRepository();
+
+    @BeforeEach
+    void setUp() {
+        repository = newRepository();
+    }
+
+    @Test
+    void matchIndexesFollowEverySave() {
+        repository.saveMatch(match("M1", "MENTOR_A", "MENTEE_1", MentorshipMatchStatus.ACTIVE, T0));
+        repository.saveMatch(match("M2", "MENTOR_A", "MENTEE_2", MentorshipMatchStatus.ACTIVE, T0.plusDays(1)));
+        repository.saveMatch(match("M3", "MENTOR_B", "MENTEE_1", MentorshipMatchStatus.PAUSED, T0.plusDays(2)));
+
+        assertThat(repository.findMatchesByMentor("MENTOR_A")).extracting(MentorshipMatch::getMatchId)
+                .containsExactly("M2", "M1");
+        assertThat(repository.findMatchesByMentee("MENTEE_1")).extracting(MentorshipMatch::getMatchId)
+                .containsExactly("M3", "M1");
+        assertThat(repository.findMatchesByStatus(MentorshipMatchStatus.ACTIVE)).extracting(MentorshipMatch::getMatchId)
+                .containsExactlyInAnyOrder("M1", "M2");
+        assertThat(repository.hasActiveMatch("MENTOR_A", "MENTEE_1")).isTrue();
+        assertThat(repository.countMatches()).isEqualTo(3);
+
+        MentorshipMatch completed = repository.findMatch("M1");
+        completed.setStatus(MentorshipMatchStatus.COMPLETED);
+        repository.saveMatch(completed);
+
+        assertThat(repository.findMatchesByStatus(MentorshipMatchStatus.ACTIVE)).extracting(MentorshipMatch::getMatchId)
+                .containsExactly("M2");
+        assertThat(repository.countMatchesByStatus(MentorshipMatchStatus.COMPLETED)).isEqualTo(1);
+        assertThat(repository.hasActiveMatch("MENTOR_A", "MENTEE_1")).isFalse();
+        // The per-user indexes keep ended matches, in the same place
+        assertThat(repository.findMatchesByMentor("MENTOR_A")).extracting(MentorshipMatch::getMatchId)
+                .containsExactly("M2", "M1");
+        assertThat(repository.findAllMatches()).hasSize(3);
+    }
+
+    @Test
+    void updateIsAppliedOnlyFromAnExpectedStatus() {
+        repository.saveMatch(match("M1", "MENTOR_A", "MENTEE_1", MentorshipMatchStatus.ACTIVE, T0));
+
+        MatchUpdate missing = repository.updateMatch("NOPE", EnumSet.allOf(MentorshipMatchStatus.class), null,
+                match -> match.setNotes("never"));
+        MatchUpdate refused = repository.updateMatch("M1", EnumSet.of(MentorshipMatchStatus.PAUSED), null,
+                match -> match.setNotes("never"));
+
+        assertThat(missing.match()).isNull();
+        assertThat(missing.applied()).isFalse();
+        assertThat(refused.applied()).isFalse();
+        assertThat(refused.previousStatus()).isEqualTo(MentorshipMatchStatus.ACTIVE);
+        assertThat(repository.findMatch("M1").getNotes()).isNull();
+
+        MatchUpdate completed = repository.updateMatch("M1", EnumSet.of(MentorshipMatchStatus.ACTIVE),
+                MentorshipMatchStatus.COMPLETED, match -> match.setNotes("done"));
+
+        assertThat(completed.applied()).isTrue();
+        assertThat(completed.previousStatus()).isEqualTo(MentorshipMatchStatus.ACTIVE);
+        assertThat(completed.match().getStatus()).isEqualTo(MentorshipMatchStatus.COMPLETED);
+        assertThat(repository.findMatch("M1").getNotes()).isEqualTo("done");
+        assertThat(repository.findMatchesByStatus(MentorshipMatchStatus.COMPLETED)).extracting(MentorshipMatch::getMatchId)
+                .containsExactly("M1");
+        assertThat(repository.hasActiveMatch("MENTOR_A", "MENTEE_1")).isFalse();
+        // Completing twice is refused rather than applied again
+        assertThat(repository.updateMatch("M1", EnumSet.of(MentorshipMatchStatus.ACTIVE),
+                MentorshipMatchStatus.COMPLETED, match -> {}).applied()).isFalse();
+    }
+
+    @Test
+    void reservationRefusesDuplicatePairsAndFullMentors() {
+        repository.saveMentor(mentor("MENTOR_A"));
+
+        assertThat(repository.reserveMatch(match("M1", "MENTOR_A", "MENTEE_1", MentorshipMatchStatus.ACTIVE, T0), 2))
+                .isEqualTo(Reservation.RESERVED);
+        assertThat(repository.reserveMatch(match("M2", "MENTOR_A", "MENTEE_1", MentorshipMatchStatus.ACTIVE, T0), 2))
+                .isEqualTo(Reservation.DUPLICATE);
+        assertThat(repository.reserveMatch(match("M3", "MENTOR_A", "MENTEE_2", MentorshipMatchStatus.ACTIVE, T0), 2))
+                .isEqualTo(Reservation.RESERVED);
+        assertThat(repository.reserveMatch(match("M4", "MENTOR_A", "MENTEE_3", MentorshipMatchStatus.ACTIVE, T0), 2))
+                .isEqualTo(Reservation.AT_CAPACITY);
+
+        assertThat(repository.findMentor("MENTOR_A").getCurrentMentees()).isEqualTo(2);
+        assertThat(repository.findMatch("M1")).isNotNull();
+        assertThat(repository.findMatch("M2")).isNull();
+        assertThat(repository.findMatch("M4")).isNull();
+        assertThat(repository.hasActiveMatch("MENTOR_A", "MENTEE_2")).isTrue();
+    }
+
+    @Test
+    void endingAMatchGivesItsSlotBackExactlyOnce() {
+        repository.saveMentor(mentor("MENTOR_A"));
+        repository.reserveMatch(match("M1", "MENTOR_A", "MENTEE_1", MentorshipMatchStatus.ACTIVE, T0), 1);
+
+        assertThat(repository.updateMatch("M1", SLOT_HOLDING, MentorshipMatchStatus.COMPLETED, match -> {}).applied())
+                .isTrue();
+        assertThat(repository.updateMatch("M1", SLOT_HOLDING, MentorshipMatchStatus.COMPLETED, match -> {}).applied())
+                .isFalse();
+
+        assertThat(repository.findMentorForUpdate("MENTOR_A").getCurrentMentees()).isZero();
+        assertThat(repository.reserveMatch(match("M2", "MENTOR_A", "MENTEE_2", MentorshipMatchStatus.ACTIVE, T0), 1))
+                .isEqualTo(Reservation.RESERVED);
+        assertThat(repository.findMentorForUpdate("MENTOR_A").getCurrentMentees()).isEqualTo(1);
+    }
+
+    @Test
+    void pausedMatchKeepsItsPairAndSlot() {
+        repository.saveMentor(mentor("MENTOR_A"));
+        repository.reserveMatch(match("M1", "MENTOR_A", "MENTEE_1", MentorshipMatchStatus.ACTIVE, T0), 1);
+
+        assertThat(repository.updateMatch("M1", EnumSet.of(MentorshipMatchStatus.ACTIVE),
+                MentorshipMatchStatus.PAUSED, match -> {}).applied()).isTrue();
+
+        assertThat(repository.hasActiveMatch("MENTOR_A", "MENTEE_1")).isTrue();
+        assertThat(repository.reserveMatch(match("M2", "MENTOR_A", "MENTEE_1", MentorshipMatchStatus.ACTIVE, T0), 1))
+                .isEqualTo(Reservation.DUPLICATE);
+        assertThat(repository.reserveMatch(match("M3", "MENTOR_A", "MENTEE_2", MentorshipMatchStatus.ACTIVE, T0), 1))
+                .isEqualTo(Reservation.AT_CAPACITY);
+
+        assertThat(repository.updateMatch("M1", EnumSet.of(MentorshipMatchStatus.PAUSED),
+                MentorshipMatchStatus.ACTIVE, match -> {}).applied()).isTrue();
+        assertThat(repository.findMentorForUpdate("MENTOR_A").getCurrentMentees()).isEqualTo(1);
+        assertThat(repository.findMatchesByStatus(MentorshipMatchStatus.ACTIVE)).extracting(MentorshipMatch::getMatchId)
+                .containsExactly("M1");
+    }
+
+    @Test
+    void endedMatchCannotBeReopened() {
+        repository.saveMentor(mentor("MENTOR_A"));
+        repository.reserveMatch(match("M1", "MENTOR_A", "MENTEE_1", MentorshipMatchStatus.ACTIVE, T0), 1);
+        repository.updateMatch("M1", SLOT_HOLDING, MentorshipMatchStatus.COMPLETED, match -> {});
+
+        assertThatThrownBy(() -> repository.updateMatch("M1", EnumSet.allOf(MentorshipMatchStatus.class),
+                MentorshipMatchStatus.ACTIVE, match -> {}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(repository.findMatch("M1").getStatus()).isEqualTo(MentorshipMatchStatus.COMPLETED);
+        assertThat(repository.hasActiveMatch("MENTOR_A", "MENTEE_1")).isFalse();
+    }
+
+    @Test
+    void concurrentCompletionsReleaseTheSlotOnce() throws Exception {
+        repository.saveMentor(mentor("MENTOR_A"));
+        repository.reserveMatch(match("M1", "MENTOR_A", "MENTEE_1", MentorshipMatchStatus.ACTIVE, T0), 5);
+        repository.reserveMatch(match("M2", "MENTOR_A", "MENTEE_2", MentorshipMatchStatus.ACTIVE, T0), 5);
+
+        List<Callable<Boolean>> completions = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            completions.add(() -> repository.updateMatch("M1", SLOT_HOLDING,
+                    MentorshipMatchStatus.COMPLETED, match -> {}).applied());
+        }
+
+        assertThat(runConcurrently(completions)).containsOnlyOnce(true);
+        assertThat(repository.findMentorForUpdate("MENTOR_A").getCurrentMentees()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentReservationsNeverOverbookOrDuplicate() throws Exception {
+        List<String> mentorIds = List.of("MENTOR_A", "MENTOR_B", "MENTOR_C", "MENTOR_D");
+        mentorIds.forEach(mentorId -> repository.saveMentor(mentor(mentorId)));
+
+        // Every mentee asks every mentor twice, all at once; each mentor takes 3
+        List<Callable<Reservation>> requests = new ArrayList<>();
+        for (int attempt = 0; attempt < 2; attempt++) {
+            for (String mentorId : mentorIds) {
+                for (int m = 0; m < 10; m++) {
+                    String matchId = mentorId + "_" + m + "_" + attempt;
+                    String menteeId = "MENTEE_" + m;
+                    requests.add(() -> repository.reserveMatch(
+                            match(matchId, mentorId, menteeId, MentorshipMatchStatus.ACTIVE, T0), 3));
+                }
+            }
+        }
+        List<Reservation> outcomes = runConcurrently(requests);
+
+        assertThat(outcomes).filteredOn(outcome -> outcome == Reservation.RESERVED).hasSize(12);
+        for (String mentorId : mentorIds) {
+            List<MentorshipMatch> matches = repository.findMatchesByMentor(mentorId);
+            assertThat(matches).hasSize(3);
+            assertThat(matches).extracting(MentorshipMatch::getMenteeId).doesNotHaveDuplicates();
+            assertThat(repository.findMentorForUpdate(mentorId).getCurrentMentees()).isEqualTo(3);
+        }
+        assertThat(repository.countMatchesByStatus(MentorshipMatchStatus.ACTIVE)).isEqualTo(12);
+    }
+
+    @Test
+    void waitingMenteesComeInPriorityOrderAcrossHelpTypes() {
+        repository.saveMentee(mentee("MENTEE_1", 3, T0, HelpType.ACADEMIC_GUIDANCE));
+        repository.saveMentee(mentee("MENTEE_2", 5, T0, HelpType.CAREER_GUIDANCE));
+        // Needs both types, listed once
+        repository.saveMentee(mentee("MENTEE_3", 3, T0.minusDays(1), HelpType.ACADEMIC_GUIDANCE, HelpType.CAREER_GUIDANCE));
+        repository.saveMentee(mentee("MENTEE_4", 1, T0, HelpType.CAREER_GUIDANCE));
+        repository.saveMentee(mentee("MENTEE_5", 5, T0, HelpType.LANGUAGE_SUPPORT));
+        long helpMask = HelpType.mask(List.of(HelpType.ACADEMIC_GUIDANCE, HelpType.CAREER_GUIDANCE));
+
+        List<MenteeProfile> firstPage = repository.findWaitingMentees(helpMask, Set.of(), null, 2);
+        List<MenteeProfile> secondPage = repository.findWaitingMentees(helpMask, Set.of(),
+                WaitingPosition.of(firstPage.get(1)), 10);
+
+        assertThat(firstPage).extracting(MenteeProfile::getMenteeId).containsExactly("MENTEE_2", "MENTEE_3");
+        assertThat(secondPage).extracting(MenteeProfile::getMenteeId).containsExactly("MENTEE_1", "MENTEE_4");
+        assertThat(repository.findWaitingMentees(helpMask, Set.of("MENTEE_2", "MENTEE_1"), null, 10))
+                .extracting(MenteeProfile::getMenteeId).containsExactly("MENTEE_3", "MENTEE_4");
+
+        // A mentee who found a mentor leaves every help-type index
+        MenteeProfile matched = repository.findMentee("MENTEE_3");
+        matched.setNeedsMentor(false);
+        repository.saveMentee(matched);
+
+        assertThat(repository.findWaitingMentees(helpMask, Set.of(), null, 10))
+                .extracting(MenteeProfile::getMenteeId).containsExactly("MENTEE_2", "MENTEE_1", "MENTEE_4");
+        assertThat(repository.countMentees()).isEqualTo(5);
+    }
+
+    @Test
+    void statisticsAddUp() {
+        repository.incrementStatistics(Map.of("matches", 1L, "matches.ACTIVE", 1L));
+        repository.incrementStatistics(Map.of("matches.ACTIVE", -1L, "matches.COMPLETED", 1L));
+
+        assertThat(repository.getStatistics())
+                .containsEntry("matches", 1L)
+                .containsEntry("matches.ACTIVE", 0L)
+                .containsEntry("matches.COMPLETED", 1L)
+                .doesNotContainKey("sessions");
+    }
+
+    private static <T> List<T> runConcurrently(List<Callable<T>> tasks) throws Exception {
+        List<T> results = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (Future<T> result : executor.invokeAll(tasks)) {
+                results.add(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return results;
+    }
+
+    protected static MentorProfile mentor(String mentorId) {
+        MentorProfile mentor = new MentorProfile();
+        mentor.setMentorId(mentorId);
+        mentor.setName("Mentor " + mentorId);
+        mentor.setAvailableHelpTypes(List.of(HelpType.ACADEMIC_GUIDANCE, HelpType.CAREER_GUIDANCE));
+        mentor.setMaxMentees(5);
+        mentor.setCurrentMentees(0);
+        mentor.setActive(true);
+        mentor.setJoinedAt(T0);
+        return mentor;
+    }
+
+    protected static MenteeProfile mentee(String menteeId, int urgency, LocalDateTime createdAt, HelpType... needs) {
+        MenteeProfile mentee = new MenteeProfile();
+        mentee.setMenteeId(menteeId);
+        mentee.setName("Mentee " + menteeId);
+        mentee.setNeededHelpTypes(List.of(needs));
+        mentee.setNeedsMentor(true);
+        mentee.setUrgencyLevel(urgency);
+        mentee.setCreatedAt(createdAt);
+        return mentee;
+    }
+
+    protected static MentorshipMatch match(String matchId, String mentorId, String menteeId,
+                                           MentorshipMatchStatus status, LocalDateTime matchedAt) {
+        MentorshipMatch match = new MentorshipMatch();
+        match.setMatchId(matchId);
+        match.setMentorId(mentorId);
+        match.setMenteeId(menteeId);
+        match.setStatus(status);
+        match.setMatchedAt(matchedAt);
+        match.setFocusAreas(List.of(HelpType.ACADEMIC_GUIDANCE));
+        match.setSessionCount(0);
+        return match;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.qard_hasan_for_education.repository;
+
+import com.example.qard_hasan_for_education.model.LoanAccount;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the shared contract against a real redis-server, plus the id index the pages are cut from
+ */
+class RedisLoanRepositoryTest extends LoanRepositoryContractTest {
+
+    private final RedisTemplate<String, Object> redisTemplate = EmbeddedRedis.template();
+    private String keyPrefix;
+
+    @Override
+    protected LoanRepository newRepository() {
+        keyPrefix = EmbeddedRedis.uniquePrefix("loan");
+        return new RedisLoanRepository(redisTemplate, Jackson2ObjectMapperBuilder.json().build(), keyPrefix);
+    }
+
+    @Test
+    void loansAddedWhileStreamingNeverRepeatEarlierOnes() {
+        List<String> saved = saveLoans(30);
+
+        try (Stream<List<LoanAccount>> pages = repository.streamLoanPages(10)) {
+            Iterator<List<LoanAccount>> iterator = pages.iterator();
+            List<String> seen = new ArrayList<>(iterator.next().stream().map(LoanAccount::getLoanId).toList());
+            // Sorts before everything already returned, and after
+            repository.saveLoan(loan("LOAN_", "500.00"));
+            repository.saveLoan(loan("LOAN_9999", "500.00"));
+            iterator.forEachRemaining(page -> page.forEach(loan -> seen.add(loan.getLoanId())));
+
+            assertThat(seen).doesNotHaveDuplicates().containsAll(saved).contains("LOAN_9999");
+        }
+    }
+
+    @Test
+    void idWithoutItsLoanIsSkippedWithoutCuttingThePagesShort() {
+        saveLoans(25);
+        redisTemplate.opsForHash().delete(keyPrefix + "accounts", "LOAN_0003");
+
+        assertThat(pages(10)).extracting(List::size).containsExactly(9, 10, 5);
+    }
+
+    @Test
+    void loansStoredBeforeTheIdIndexAreIndexedOnce() {
+        saveLoans(5);
+        // As written by the previous version: the hash entry only
+        for (int i = 0; i < 2_500; i++) {
+            LoanAccount legacy = loan(String.format("OLD_%05d", i), "750.00");
+            redisTemplate.opsForHash().put(keyPrefix + "accounts", legacy.getLoanId(), legacy);
+        }
+        RedisLoanRepository redis = (RedisLoanRepository) repository;
+
+        assertThat(redis.indexExistingLoans()).isEqualTo(2_500);
+        assertThat(redis.indexExistingLoans()).isZero();
+        assertThat(repository.countLoans()).isEqualTo(2_505);
+        assertThat(pages(1_000).stream().mapToInt(List::size).sum()).isEqualTo(2_505);
+    }
+}
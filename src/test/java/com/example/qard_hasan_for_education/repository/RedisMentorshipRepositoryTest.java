@@ -0,0 +1,183 @@
+package com.example.qard_hasan_for_education.repository;
+
+import com.example.qard_hasan_for_education.model.HelpType;
+import com.example.qard_hasan_for_education.model.MenteeProfile;
+import com.example.qard_hasan_for_education.model.MentorProfile;
+import com.example.qard_hasan_for_education.model.MentorshipMatch;
+import com.example.qard_hasan_for_education.model.MentorshipMatchStatus;
+import com.example.qard_hasan_for_education.repository.MentorshipRepository.MatchUpdate;
+import com.example.qard_hasan_for_education.repository.MentorshipRepository.WaitingPosition;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the shared contract against a real redis-server, plus what only the Redis store has:
+ * the MULTI/EXEC entity writes, the pipelined resolve and the near cache.
+ */
+class RedisMentorshipRepositoryTest extends MentorshipRepositoryContractTest {
+
+    private final RedisTemplate<String, Object> redisTemplate = EmbeddedRedis.template();
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private String keyPrefix;
+
+    @Override
+    protected MentorshipRepository newRepository() {
+        keyPrefix = EmbeddedRedis.uniquePrefix("mentorship");
+        return new RedisMentorshipRepository(redisTemplate, objectMapper, keyPrefix, 100, Duration.ofMinutes(1));
+    }
+
+    /**
+     * Another instance sharing the same Redis keys, with no near cache to speak of
+     */
+    private MentorshipRepository otherInstance() {
+        return new RedisMentorshipRepository(redisTemplate, objectMapper, keyPrefix, 100, Duration.ZERO);
+    }
+
+    @Test
+    void writesReachRedisWithTheirIndexes() {
+        MentorshipMatch match = match("M1", "MENTOR_A", "MENTEE_1", MentorshipMatchStatus.ACTIVE, T0);
+        match.setNotes("first session booked");
+        repository.saveMatch(match);
+        // A field set back to null is removed from the hash, not left behind
+        match.setNotes(null);
+        match.setStatus(MentorshipMatchStatus.PAUSED);
+        repository.saveMatch(match);
+
+        MentorshipRepository other = otherInstance();
+        MentorshipMatch stored = other.findMatch("M1");
+        assertThat(stored.getNotes()).isNull();
+        assertThat(stored.getStatus()).isEqualTo(MentorshipMatchStatus.PAUSED);
+        assertThat(stored.getMatchedAt()).isEqualTo(T0);
+        assertThat(redisTemplate.opsForSet().members(keyPrefix + "matches:status:PAUSED")).containsExactly("M1");
+        assertThat(redisTemplate.opsForSet().size(keyPrefix + "matches:status:ACTIVE")).isZero();
+        assertThat(redisTemplate.opsForZSet().score(keyPrefix + "matches:by-mentor:MENTOR_A", "M1"))
+                .isEqualTo((double) InMemoryMentorshipRepository.matchedAtMillis(match));
+    }
+
+    @Test
+    void savingAMentorNeverOverwritesTheReservedLoad() {
+        repository.saveMentor(mentor("MENTOR_A"));
+        MentorProfile stale = otherInstance().findMentor("MENTOR_A");
+        repository.reserveMatch(match("M1", "MENTOR_A", "MENTEE_1", MentorshipMatchStatus.ACTIVE, T0), 5);
+
+        // Still says 0 mentees, from before the reservation
+        stale.setBio("Updated bio");
+        otherInstance().saveMentor(stale);
+
+        MentorProfile stored = otherInstance().findMentor("MENTOR_A");
+        assertThat(stored.getCurrentMentees()).isEqualTo(1);
+        assertThat(stored.getBio()).isEqualTo("Updated bio");
+    }
+
+    @Test
+    void resolveKeepsIndexOrderAndSkipsMatchesThatAreGone() {
+        for (int i = 1; i <= 5; i++) {
+            repository.saveMatch(match("M" + i, "MENTOR_A", "MENTEE_" + i, MentorshipMatchStatus.ACTIVE, T0.plusHours(i)));
+        }
+        redisTemplate.delete(keyPrefix + "match:M3");
+
+        // Nothing cached: every match comes from the one pipelined round trip
+        assertThat(otherInstance().findMatchesByMentor("MENTOR_A")).extracting(MentorshipMatch::getMatchId)
+                .containsExactly("M5", "M4", "M2", "M1");
+    }
+
+    @Test
+    void waitingPagesStayFullPastStaleIndexEntries() {
+        for (int i = 1; i <= 7; i++) {
+            repository.saveMentee(mentee("MENTEE_" + i, 3, T0.plusHours(i), HelpType.ACADEMIC_GUIDANCE));
+        }
+        // Left behind in the index: two mentees that are gone and one that no longer needs a mentor
+        redisTemplate.delete(keyPrefix + "mentee:MENTEE_1");
+        redisTemplate.delete(keyPrefix + "mentee:MENTEE_2");
+        redisTemplate.opsForHash().put(keyPrefix + "mentee:MENTEE_4", "needsMentor", false);
+        MentorshipRepository other = otherInstance();
+        long helpMask = HelpType.ACADEMIC_GUIDANCE.bit();
+
+        List<MenteeProfile> firstPage = other.findWaitingMentees(helpMask, Set.of(), null, 2);
+        List<MenteeProfile> secondPage = other.findWaitingMentees(helpMask, Set.of(),
+                WaitingPosition.of(firstPage.get(1)), 2);
+
+        assertThat(firstPage).extracting(MenteeProfile::getMenteeId).containsExactly("MENTEE_3", "MENTEE_5");
+        assertThat(secondPage).extracting(MenteeProfile::getMenteeId).containsExactly("MENTEE_6", "MENTEE_7");
+        assertThat(other.findWaitingMentees(helpMask, Set.of(), WaitingPosition.of(secondPage.get(1)), 2)).isEmpty();
+    }
+
+    @Test
+    void nearCacheServesThisInstancesWritesUntilTheyExpire() {
+        repository.saveMatch(match("M1", "MENTOR_A", "MENTEE_1", MentorshipMatchStatus.ACTIVE, T0));
+        MentorshipRepository other = otherInstance();
+        MentorshipMatch elsewhere = other.findMatch("M1");
+        elsewhere.setSessionCount(3);
+        other.saveMatch(elsewhere);
+
+        // Read-only lookups here may lag behind another instance by up to the TTL
+        assertThat(repository.findMatch("M1").getSessionCount()).isZero();
+        assertThat(repository.findMatchesByMentor("MENTOR_A")).extracting(MentorshipMatch::getSessionCount)
+                .containsExactly(0);
+        assertThat(other.findMatch("M1").getSessionCount()).isEqualTo(3);
+    }
+
+    @Test
+    void updateReadsRedisRatherThanTheNearCache() {
+        repository.saveMatch(match("M1", "MENTOR_A", "MENTEE_1", MentorshipMatchStatus.ACTIVE, T0));
+        // Cached here as ACTIVE, then completed by another instance
+        assertThat(repository.findMatch("M1").getStatus()).isEqualTo(MentorshipMatchStatus.ACTIVE);
+        otherInstance().updateMatch("M1", EnumSet.of(MentorshipMatchStatus.ACTIVE),
+                MentorshipMatchStatus.COMPLETED, match -> {});
+
+        MatchUpdate session = repository.updateMatch("M1", EnumSet.of(MentorshipMatchStatus.ACTIVE), null,
+                match -> match.setSessionCount(match.getSessionCount() + 1));
+
+        assertThat(session.applied()).isFalse();
+        assertThat(session.previousStatus()).isEqualTo(MentorshipMatchStatus.COMPLETED);
+        assertThat(redisTemplate.opsForSet().size(keyPrefix + "matches:active-pairs")).isZero();
+        // The fresh copy replaced the stale one
+        assertThat(repository.findMatch("M1").getStatus()).isEqualTo(MentorshipMatchStatus.COMPLETED);
+    }
+
+    @Test
+    void updateStartsOverWhenTheMatchChangesUnderIt() {
+        repository.saveMatch(match("M1", "MENTOR_A", "MENTEE_1", MentorshipMatchStatus.ACTIVE, T0));
+        MentorshipRepository other = otherInstance();
+        AtomicInteger attempts = new AtomicInteger();
+
+        MatchUpdate update = repository.updateMatch("M1", EnumSet.of(MentorshipMatchStatus.ACTIVE), null, match -> {
+            if (attempts.incrementAndGet() == 1) {
+                // Another instance records a session between our read and our write; on its own thread,
+                // as this one's connection is bound to our transaction
+                CompletableFuture.runAsync(() -> other.updateMatch("M1", EnumSet.of(MentorshipMatchStatus.ACTIVE), null,
+                        theirs -> theirs.setSessionCount(theirs.getSessionCount() + 1))).join();
+            }
+            match.setSessionCount(match.getSessionCount() + 1);
+        });
+
+        assertThat(update.applied()).isTrue();
+        assertThat(attempts).hasValue(2);
+        assertThat(other.findMatch("M1").getSessionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void forUpdateLookupsSkipTheNearCache() {
+        repository.saveMentor(mentor("MENTOR_A"));
+        repository.saveMentee(mentee("MENTEE_1", 3, T0));
+        MentorProfile elsewhere = otherInstance().findMentor("MENTOR_A");
+        elsewhere.setBio("Changed elsewhere");
+        otherInstance().saveMentor(elsewhere);
+        redisTemplate.opsForHash().put(keyPrefix + "mentee:MENTEE_1", "urgencyLevel", 5);
+
+        assertThat(repository.findMentor("MENTOR_A").getBio()).isNull();
+        assertThat(repository.findMentorForUpdate("MENTOR_A").getBio()).isEqualTo("Changed elsewhere");
+        assertThat(repository.findMenteeForUpdate("MENTEE_1").getUrgencyLevel()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.qard_hasan_for_education.service;
+
+import com.example.qard_hasan_for_education.model.Installment;
+import com.example.qard_hasan_for_education.model.LoanAccount;
+import com.example.qard_hasan_for_education.model.LoanStatus;
+import com.example.qard_hasan_for_education.repository.InMemoryLoanRepository;
+import com.example.qard_hasan_for_education.support.PortfolioTotals;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RepaymentServiceTest {
+
+    private RepaymentService service;
+    private InMemoryLoanRepository loanRepository;
+
+    @BeforeEach
+    void setUp() {
+        service = new RepaymentService();
+        loanRepository = new InMemoryLoanRepository();
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "paymentGateway", new SimulatedPaymentGateway(Duration.ZERO, 0.0, 1L));
+        ReflectionTestUtils.setField(service, "loanRepository", loanRepository);
+    }
+
+    @Test
+    void lastInstallmentPaysTheRoundingRemainder() {
+        // 10000.00 / 3 rounds down to 3333.33 a month
+        List<Installment> schedule = service.calculatePaymentSchedule(loan("10000.00", 3));
+
+        assertThat(schedule).extracting(Installment::amount)
+                .containsExactly(new BigDecimal("3333.33"), new BigDecimal("3333.33"), new BigDecimal("3333.34"));
+        assertThat(schedule).extracting(Installment::remainingBalanceAfter)
+                .containsExactly(new BigDecimal("6666.67"), new BigDecimal("3333.34"), new BigDecimal("0.00"));
+    }
+
+    @Test
+    void lastInstallmentIsSmallerWhenTheMonthlyAmountRoundedUp() {
+        // 200.00 / 3 rounds up to 66.67 a month
+        List<Installment> schedule = service.calculatePaymentSchedule(loan("200.00", 3));
+
+        assertThat(schedule).extracting(Installment::amount)
+                .containsExactly(new BigDecimal("66.67"), new BigDecimal("66.67"), new BigDecimal("66.66"));
+    }
+
+    @Test
+    void pageIsTheSameSliceAsTheFullSchedule() {
+        LoanAccount loan = loan("12345.67", 360);
+
+        List<Installment> full = service.calculatePaymentSchedule(loan);
+        List<Installment> page = service.calculatePaymentSchedule(loan, 357, 10);
+
+        assertThat(service.countRemainingInstallments(loan)).isEqualTo(360);
+        assertThat(page).containsExactlyElementsOf(full.subList(357, 360));
+        assertThat(service.calculatePaymentSchedule(loan, 400, 10)).isEmpty();
+        assertThatThrownBy(() -> service.calculatePaymentSchedule(loan, -1, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void monthEndDueDatesSurviveEachPayment() throws Exception {
+        LoanAccount loan = loan("300.00", 3);
+        loan.setLoanStartDate(LocalDate.of(2026, 1, 31));
+        loan.setNextPaymentDate(LocalDate.of(2026, 2, 28));
+
+        assertThat(service.calculatePaymentSchedule(loan)).extracting(Installment::dueDate)
+                .containsExactly(LocalDate.of(2026, 2, 28), LocalDate.of(2026, 3, 31), LocalDate.of(2026, 4, 30));
+
+        LoanAccount afterFebruary = service.calculateRepayment(loan.getLoanId(), new BigDecimal("100.00"),
+                "BANK_TRANSFER", loan).getUpdatedLoanAccount();
+        assertThat(afterFebruary.getNextPaymentDate()).isEqualTo(LocalDate.of(2026, 3, 31));
+    }
+
+    @Test
+    void finalPaymentMustCoverTheRemainderAndClosesTheLoan() throws Exception {
+        LoanAccount loan = loan("10000.00", 3);
+        loan.setCompletedInstallments(2);
+        loan.setRemainingBalance(new BigDecimal("3333.34"));
+
+        assertThat(service.calculateAmountDue(loan)).isEqualByComparingTo("3333.34");
+        assertThatThrownBy(() -> service.calculateRepayment(loan.getLoanId(), new BigDecimal("3333.33"),
+                "BANK_TRANSFER", loan))
+                .hasMessageContaining("less than required installment");
+
+        LoanAccount closed = service.calculateRepayment(loan.getLoanId(), new BigDecimal("3333.34"),
+                "BANK_TRANSFER", loan).getUpdatedLoanAccount();
+        assertThat(closed.getLoanStatus()).isEqualTo(LoanStatus.COMPLETED);
+        assertThat(closed.getRemainingBalance()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void declinedChargeFailsThePaymentAndLeavesTheLoanAlone() {
+        ReflectionTestUtils.setField(service, "paymentGateway", new SimulatedPaymentGateway(Duration.ZERO, 1.0, 1L));
+        LoanAccount loan = loan("300.00", 3);
+
+        assertThat(service.calculateRepaymentAsync(loan.getLoanId(), new BigDecimal("100.00"), "BANK_TRANSFER", loan))
+                .failsWithin(Duration.ofSeconds(5))
+                .withThrowableThat().withMessageContaining("Payment processing failed");
+        assertThat(loan.getCompletedInstallments()).isZero();
+        assertThat(loan.getRemainingBalance()).isEqualByComparingTo("300.00");
+    }
+
+    @Test
+    void paymentForOneLoanWithAnotherLoansAccountIsRejected() {
+        LoanAccount stored = loan("1200.00", 12);
+        stored.setLoanId("LOAN_A");
+        loanRepository.saveLoan(stored);
+        LoanAccount posted = loan("50.00", 1);
+        posted.setLoanId("LOAN_B");
+
+        assertThatThrownBy(() -> service.calculateRepayment("LOAN_A", new BigDecimal("50.00"), "BANK_TRANSFER", posted))
+                .hasMessageContaining("does not match loan");
+        assertThat(loanRepository.findLoan("LOAN_B")).isNull();
+        assertThat(loanRepository.findLoan("LOAN_A").getCompletedInstallments()).isZero();
+        assertThat(loanRepository.countLoans()).isEqualTo(1);
+    }
+
+    @Test
+    void storedLoanAdvancesFromItsOwnStateNotThePostedOne() throws Exception {
+        LoanAccount stored = loan("1200.00", 12);
+        stored.setLoanId("LOAN_A");
+        loanRepository.saveLoan(stored);
+        // Same loan, but with the client's own idea of its principal and program
+        LoanAccount posted = loan("100.00", 1);
+        posted.setLoanId("LOAN_A");
+        posted.setProgram("Anything");
+
+        LoanAccount returned = service.calculateRepayment("LOAN_A", new BigDecimal("100.00"), "BANK_TRANSFER", posted)
+                .getUpdatedLoanAccount();
+
+        assertThat(returned.getLoanStatus()).isEqualTo(LoanStatus.COMPLETED);
+        LoanAccount saved = loanRepository.findLoan("LOAN_A");
+        assertThat(saved.getPrincipalAmount()).isEqualByComparingTo("1200.00");
+        assertThat(saved.getRemainingBalance()).isEqualByComparingTo("1100.00");
+        assertThat(saved.getCompletedInstallments()).isEqualTo(1);
+        assertThat(saved.getProgram()).isEqualTo("Computer Science");
+        assertThat(saved.getLoanStatus()).isEqualTo(LoanStatus.ACTIVE);
+    }
+
+    @Test
+    void batchChargesAnAccountOnceWhateverLoanIdsItIsPostedUnder() {
+        LoanAccount account = loan("1200.00", 12);
+        BigDecimal amount = new BigDecimal("100.00");
+        List<RepaymentService.PaymentInstruction> instructions = List.of(
+                new RepaymentService.PaymentInstruction("LOAN_X", amount, "BANK_TRANSFER", account),
+                new RepaymentService.PaymentInstruction(account.getLoanId(), amount, "BANK_TRANSFER", account),
+                new RepaymentService.PaymentInstruction(account.getLoanId(), amount, "BANK_TRANSFER", account));
+
+        List<RepaymentService.BatchItemResult> results = service.calculateRepaymentBatch(instructions).join();
+
+        assertThat(results).extracting(RepaymentService.BatchItemResult::isSuccess).containsExactly(false, true, false);
+        assertThat(results.get(0).getMessage()).contains("does not match loan");
+        assertThat(results.get(2).getMessage()).contains("Duplicate loan in batch");
+    }
+
+    @Test
+    void pagedDashboardAddsUpToTheWholePortfolio() {
+        ReflectionTestUtils.setField(service, "portfolioPageSize", 7);
+        List<LoanAccount> portfolio = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            LoanAccount loan = loan(i + "00.01", 12);
+            loan.setLoanId("LOAN_" + i);
+            loan.setCompletedInstallments(i % 12);
+            loan.setRemainingBalance(new BigDecimal(i + "00.01").subtract(BigDecimal.valueOf(i % 12)));
+            loan.setProgram(i % 3 == 0 ? null : "Program " + i % 3);
+            loanRepository.saveLoan(loan);
+            portfolio.add(loan);
+        }
+        Set<PortfolioTotals.Breakdown> breakdowns = EnumSet.allOf(PortfolioTotals.Breakdown.class);
+
+        Map<String, Object> dashboard = service.calculatePortfolioDashboard(breakdowns);
+
+        assertThat(dashboard).isEqualTo(service.summarizePortfolio(portfolio.stream(), breakdowns).toMap());
+        assertThat(dashboard).containsEntry("totalLoans", 50L);
+    }
+
+    private static LoanAccount loan(String principal, int term) {
+        return new LoanAccount("STU-1", "APP-1", new BigDecimal(principal), term,
+                "Student", "Universiti Malaya", "Computer Science", "Malaysia", "Malaysian");
+    }
+}
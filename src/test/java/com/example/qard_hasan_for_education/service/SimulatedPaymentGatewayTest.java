@@ -0,0 +1,67 @@
+package com.example.qard_hasan_for_education.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SimulatedPaymentGatewayTest {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("250.00");
+
+    @Test
+    void sameSeedGivesTheSameApprovalsAndDeclines() {
+        List<Boolean> first = outcomes(new SimulatedPaymentGateway(Duration.ZERO, 0.3, 42L), 200);
+        List<Boolean> second = outcomes(new SimulatedPaymentGateway(Duration.ZERO, 0.3, 42L), 200);
+        List<Boolean> otherSeed = outcomes(new SimulatedPaymentGateway(Duration.ZERO, 0.3, 43L), 200);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(otherSeed).isNotEqualTo(first);
+    }
+
+    @Test
+    void declinesTheConfiguredShareOfPayments() {
+        List<Boolean> outcomes = outcomes(new SimulatedPaymentGateway(Duration.ZERO, 0.2, 7L), 10_000);
+
+        long declined = outcomes.stream().filter(approved -> !approved).count();
+        assertThat(declined).isBetween(1_800L, 2_200L);
+        assertThat(outcomes(new SimulatedPaymentGateway(Duration.ZERO, 0.0, 7L), 100)).containsOnly(true);
+        assertThat(outcomes(new SimulatedPaymentGateway(Duration.ZERO, 1.0, 7L), 100)).containsOnly(false);
+    }
+
+    @Test
+    void outcomeFollowsCallOrderNotCompletionOrder() {
+        SimulatedPaymentGateway gateway = new SimulatedPaymentGateway(Duration.ofMillis(50), 0.5, 42L);
+        List<CompletableFuture<Boolean>> inFlight = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            inFlight.add(gateway.charge("LOAN_" + i, AMOUNT, "BANK_TRANSFER"));
+        }
+        // Nothing has answered yet, and no thread was held waiting
+        assertThat(inFlight.get(0)).isNotDone();
+
+        List<Boolean> answered = inFlight.stream().map(CompletableFuture::join).toList();
+        assertThat(answered).isEqualTo(outcomes(new SimulatedPaymentGateway(Duration.ZERO, 0.5, 42L), 50));
+    }
+
+    @Test
+    void rejectsAFailureRateOutsideZeroToOne() {
+        assertThatThrownBy(() -> new SimulatedPaymentGateway(Duration.ZERO, 1.5, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SimulatedPaymentGateway(Duration.ZERO, -0.1, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Boolean> outcomes(SimulatedPaymentGateway gateway, int charges) {
+        List<Boolean> outcomes = new ArrayList<>();
+        for (int i = 0; i < charges; i++) {
+            outcomes.add(gateway.charge("LOAN_" + i, AMOUNT, "BANK_TRANSFER").join());
+        }
+        return outcomes;
+    }
+}